@@ -9,6 +9,7 @@ import com.snapgames.framework.services.InputService;
 import com.snapgames.framework.services.PhysicEngineService;
 import com.snapgames.framework.services.RenderingService;
 import com.snapgames.framework.services.SceneManagerService;
+import com.snapgames.framework.services.WorldStreamingService;
 
 import java.awt.event.KeyEvent;
 
@@ -33,6 +34,7 @@ public class Demo01App extends App implements InputListener {
         add(new EntityManagerService(this));
         add(new PhysicEngineService(this));
         add(new SceneManagerService(this));
+        add(new WorldStreamingService(this));
         add(new RenderingService(this));
 
         InputService is = new InputService(this);
@@ -4,6 +4,7 @@ import java.awt.Color;
 import java.awt.event.KeyEvent;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Rectangle2D;
+import java.util.Random;
 
 import com.snapgames.framework.App;
 import com.snapgames.framework.components.*;
@@ -13,6 +14,7 @@ import com.snapgames.framework.entities.Material;
 import com.snapgames.framework.entities.World;
 import com.snapgames.framework.io.InputListener;
 import com.snapgames.framework.math.Vector2d;
+import com.snapgames.framework.physic.StepListener;
 import com.snapgames.framework.scenes.AbstractScene;
 import com.snapgames.framework.services.InputService;
 import com.snapgames.framework.services.PhysicEngineService;
@@ -28,7 +30,7 @@ import com.snapgames.framework.services.PhysicEngineService;
  * @author Frédéric Delorme
  * @since 0.0.1
  */
-public class PlayScene extends AbstractScene implements InputListener {
+public class PlayScene extends AbstractScene implements InputListener, StepListener {
 
     public PlayScene(App app, String name) {
         super(app, name);
@@ -49,7 +51,12 @@ public class PlayScene extends AbstractScene implements InputListener {
         InputService is = app.getService(InputService.class.getSimpleName());
         is.register(this);
 
-        World w = ((PhysicEngineService) app.getService(PhysicEngineService.class.getSimpleName())).getWorld();
+        PhysicEngineService pes = app.getService(PhysicEngineService.class.getSimpleName());
+        if (pes.isDeterministic()) {
+            // inputs are applied on each physic step instead of each frame.
+            pes.addStepListener(this);
+        }
+        World w = pes.getWorld();
         Entity player = new Entity("player")
                 .add(new GraphicComponent()
                         .setColor(Color.WHITE)
@@ -59,7 +66,8 @@ public class PlayScene extends AbstractScene implements InputListener {
                         .setMaterial(new Material("player_mat", 1.0, 1.0, 0.99))
                         .setMass(60.0)
                         .setPosition(new Vector2d(100.0, 100.0))
-                        .setSize(16.0, 18.0))
+                        .setSize(16.0, 18.0)
+                        .setBullet(true))
                 .add(new PriorityComponent().setPriority(1));
         setCamera(new Camera("cam01").setViewport(320, 200).setTarget(player, 0.02));
         add(player);
@@ -73,9 +81,10 @@ public class PlayScene extends AbstractScene implements InputListener {
                         .setMaterial(Material.DEFAULT)
                         .setMass(1.0)
                         .setPosition(new Vector2d(10.0, 32.0))
-                        .setType(PhysicType.STATIC))
+                        .setType(PhysicType.NONE))
                 .add(new TextComponent()
-                        .setText("00000")
+                        .setText("%05d")
+                        .setValue(0)
                         .setTextColor(Color.WHITE))
                 .add(new PriorityComponent().setPriority(2));
         add(score);
@@ -90,12 +99,12 @@ public class PlayScene extends AbstractScene implements InputListener {
                         .setMass(1.0)
                         .setPosition(new Vector2d(270.0, 28.0))
                         .setSize(40, 6)
-                        .setType(PhysicType.STATIC))
+                        .setType(PhysicType.NONE))
                 .add(new GaugeComponent(100, 0, 100).setGaugeColor(Color.RED))
                 .add(new PriorityComponent().setPriority(2));
         add(energyGauge);
 
-        generateBouncingEnemies(10);
+        generateBouncingEnemies(10, pes.getRandom("enemies"));
 
         Entity grid = new Entity("grid")
                 .add(new GraphicComponent()
@@ -105,13 +114,13 @@ public class PlayScene extends AbstractScene implements InputListener {
                         .setMass(1.0)
                         .setPosition(new Vector2d(0, 0))
                         .setSize(w.getPlayArea().getWidth(), w.getPlayArea().getHeight())
-                        .setType(PhysicType.DYNAMIC))
+                        .setType(PhysicType.NONE))
                 .add(new GridComponent(16, 16).setBox(w.getPlayArea()))
                 .add(new PriorityComponent().setPriority(-10));
         add(grid);
     }
 
-    public void generateBouncingEnemies(int nb) {
+    public void generateBouncingEnemies(int nb, Random rnd) {
         for (int i = 0; i < nb; i++) {
             Entity enemy = new Entity("enemy_%d".formatted(i))
                     .add(new GraphicComponent()
@@ -120,11 +129,12 @@ public class PlayScene extends AbstractScene implements InputListener {
                             .setShape(new Ellipse2D.Double(-8.0, -8.0, 16.0, 16.0)))
                     .add(new PhysicComponent()
                             .setType(PhysicType.DYNAMIC)
+                            .setShape(PhysicShape.CIRCLE)
                             .setMaterial(new Material("enemy_mat", 1.0, 0.20, 1.12))
-                            .setMass(Math.random() * 100.0 + 10.0)
-                            .setPosition(new Vector2d(-160 + Math.random() * 320.0, -100 + Math.random() * 200.0))
+                            .setMass(rnd.nextDouble() * 100.0 + 10.0)
+                            .setPosition(new Vector2d(-160 + rnd.nextDouble() * 320.0, -100 + rnd.nextDouble() * 200.0))
                             .setVelocity(
-                                    new Vector2d(-0.00001 + Math.random() * 0.00002, -0.00001 + Math.random() * 0.00002)
+                                    new Vector2d(-0.00001 + rnd.nextDouble() * 0.00002, -0.00001 + rnd.nextDouble() * 0.00002)
                             )
                             .setSize(8.0, 8.0))
                     .add(new PriorityComponent().setPriority(2 + i));
@@ -134,7 +144,8 @@ public class PlayScene extends AbstractScene implements InputListener {
 
     /**
      * Updates the current game scene by checking inputs and applying forces to the
-     * player's physical component based on the pressed keys.
+     * player's physical component based on the pressed keys (on each physic step instead,
+     * in deterministic mode).
      *
      * @param app the application instance providing access to services and game
      *            entities. The method uses this parameter to fetch the input
@@ -142,23 +153,64 @@ public class PlayScene extends AbstractScene implements InputListener {
      */
     @Override
     public void update(App app) {
+        PhysicEngineService pes = app.getService(PhysicEngineService.class.getSimpleName());
+        if (!pes.isDeterministic()) {
+            applyInput(app);
+        }
+    }
+
+    /**
+     * In deterministic mode, apply the inputs at the start of each physic step,
+     * including the gravity reversal from the key changes of this step.
+     *
+     * @param app     the parent {@link App} instance.
+     * @param step    the index of the step.
+     * @param elapsed the time simulated by the step (in milliseconds).
+     */
+    @Override
+    public void onStep(App app, long step, double elapsed) {
+        applyInput(app);
+        InputService input = (InputService) app.getService(InputService.class.getSimpleName());
+        for (int i = 0; i < input.getStepInputCount(); i++) {
+            if (input.getStepInputKey(i) == KeyEvent.VK_G && !input.isStepInputPressed(i)) {
+                reverseGravity(app);
+            }
+        }
+    }
+
+    /**
+     * Reverse the gravity of the physic {@link World}.
+     *
+     * @param app the application instance providing access to the physic engine.
+     */
+    private void reverseGravity(App app) {
+        PhysicEngineService pes = app.getService(PhysicEngineService.class.getSimpleName());
+        pes.getWorld().setGravity(pes.getWorld().getGravity().multiply(-1));
+    }
+
+    /**
+     * Apply forces to the player's physical component based on the pressed keys.
+     *
+     * @param app the application instance providing access to the input service.
+     */
+    private void applyInput(App app) {
         InputService input = (InputService) app.getService(InputService.class.getSimpleName());
         Entity player = getEntity("player");
         PhysicComponent pc = player.getComponent(PhysicComponent.class);
 
         if (input.isKeyPressed(KeyEvent.VK_UP)) {
-            pc.getForces().add(new Vector2d(0, -0.0005));
+            pc.applyForce(0, -0.0005);
         }
         if (input.isKeyPressed(KeyEvent.VK_DOWN)) {
-            pc.getForces().add(new Vector2d(0, 0.0002));
+            pc.applyForce(0, 0.0002);
 
         }
         if (input.isKeyPressed(KeyEvent.VK_LEFT)) {
-            pc.getForces().add(new Vector2d(-0.0002, 0));
+            pc.applyForce(-0.0002, 0);
 
         }
         if (input.isKeyPressed(KeyEvent.VK_RIGHT)) {
-            pc.getForces().add(new Vector2d(0.0002, 0));
+            pc.applyForce(0.0002, 0);
         }
     }
 
@@ -177,13 +229,27 @@ public class PlayScene extends AbstractScene implements InputListener {
                 app.setDebugLevel(app.getDebugLevel() + 1 < 6 ? app.getDebugLevel() + 1 : 0);
             }
             case KeyEvent.VK_G -> {
-                // reverse gravity
+                // reverse gravity (on the next physic step, in deterministic mode).
                 PhysicEngineService pes = app.getService(PhysicEngineService.class.getSimpleName());
-                pes.getWorld().setGravity(pes.getWorld().getGravity().multiply(-1));
+                if (!pes.isDeterministic()) {
+                    reverseGravity(app);
+                }
             }
             default -> {
                 // do nothing specific for any other keys.
             }
         }
     }
+
+    /**
+     * Stop listening to the physic steps.
+     *
+     * @param app the parent {@link App} instance.
+     */
+    @Override
+    public void dispose(App app) {
+        super.dispose(app);
+        PhysicEngineService pes = app.getService(PhysicEngineService.class.getSimpleName());
+        pes.removeStepListener(this);
+    }
 }
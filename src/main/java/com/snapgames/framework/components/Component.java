@@ -1,15 +1,20 @@
 package com.snapgames.framework.components;
 
+import java.io.Serializable;
+
 /**
  * The {@code Component} interface serves as a marker for defining components that can be
  * associated with entities in a game or application framework. Components typically represent
  * specific attributes, behaviors, or properties of an entity and adhere to a component-based
  * architecture pattern.
+ * <p>
+ * Components are {@link Serializable}, so that an {@link com.snapgames.framework.entities.Entity}
+ * can be streamed out of memory with all its components.
  *
  * @author Frédéric Delorme
  * @since 0.0.1
  */
 
-public interface Component {
+public interface Component extends Serializable {
 
 }
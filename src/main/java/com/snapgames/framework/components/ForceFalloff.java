@@ -0,0 +1,27 @@
+package com.snapgames.framework.components;
+
+/**
+ * The {@link ForceFalloff} enumeration defines how the strength of a {@link ForceFieldComponent}
+ * decreases with the distance of a body to the field center.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public enum ForceFalloff {
+    NONE, LINEAR, QUADRATIC;
+
+    /**
+     * Compute the ratio of the field strength applied at a distance.
+     *
+     * @param ratio the distance to the field center divided by the field radius, from 0 to 1.
+     * @return the ratio of the field strength, from 1 at the center to 0 at the radius (but for {@link #NONE}).
+     */
+    public double factor(double ratio) {
+        double r = 1.0 - Math.min(Math.max(ratio, 0.0), 1.0);
+        return switch (this) {
+            case NONE -> 1.0;
+            case LINEAR -> r;
+            case QUADRATIC -> r * r;
+        };
+    }
+}
@@ -0,0 +1,137 @@
+package com.snapgames.framework.components;
+
+import com.snapgames.framework.math.Vector2d;
+
+/**
+ * The {@link ForceFieldComponent} turns an {@link com.snapgames.framework.entities.Entity} into a
+ * localized force source: the area of the field is the bounding box of the entity
+ * {@link PhysicComponent} (usually a {@link PhysicType#NONE} one), and only the dynamic bodies
+ * whose center is into this area are affected.
+ * <p>
+ * The field strength is attenuated with the distance to the area center, according to the
+ * {@link ForceFalloff}, the radius of the field being half the smallest side of its area.
+ * An {@link ForceFieldType#EXPLOSION} is applied only once, then the field is deactivated.
+ * <p>
+ * The component must be set before adding the entity to the
+ * {@link com.snapgames.framework.services.EntityManagerService}.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class ForceFieldComponent implements Component {
+    private static final long serialVersionUID = 1L;
+
+    private ForceFieldType type = ForceFieldType.WIND;
+    private ForceFalloff falloff = ForceFalloff.NONE;
+    /**
+     * The force (or impulse for an explosion) applied at the field center.
+     */
+    private double strength = 0.0;
+    /**
+     * The direction of a {@link ForceFieldType#WIND} field.
+     */
+    private Vector2d direction = new Vector2d(1, 0);
+    private boolean active = true;
+
+    /**
+     * Create a new {@link ForceFieldComponent}: an active {@link ForceFieldType#WIND} field of null
+     * strength, blowing to the right without falloff.
+     */
+    public ForceFieldComponent() {
+    }
+
+    /**
+     * Create a new {@link ForceFieldComponent} without falloff.
+     *
+     * @param type     the type of the field
+     * @param strength the force (or impulse for an explosion) applied at the field center.
+     */
+    public ForceFieldComponent(ForceFieldType type, double strength) {
+        this.type = type;
+        this.strength = strength;
+    }
+
+    /**
+     * @return the type of the field.
+     */
+    public ForceFieldType getType() {
+        return type;
+    }
+
+    /**
+     * @param type the type of the field.
+     * @return the updated {@link ForceFieldComponent}.
+     */
+    public ForceFieldComponent setType(ForceFieldType type) {
+        this.type = type;
+        return this;
+    }
+
+    /**
+     * @return the attenuation of the field strength with the distance to its center.
+     */
+    public ForceFalloff getFalloff() {
+        return falloff;
+    }
+
+    /**
+     * @param falloff the attenuation of the field strength with the distance to its center.
+     * @return the updated {@link ForceFieldComponent}.
+     */
+    public ForceFieldComponent setFalloff(ForceFalloff falloff) {
+        this.falloff = falloff;
+        return this;
+    }
+
+    /**
+     * @return the force (or impulse for an explosion) applied at the field center.
+     */
+    public double getStrength() {
+        return strength;
+    }
+
+    /**
+     * @param strength the force (or impulse for an explosion) applied at the field center.
+     * @return the updated {@link ForceFieldComponent}.
+     */
+    public ForceFieldComponent setStrength(double strength) {
+        this.strength = strength;
+        return this;
+    }
+
+    /**
+     * @return the normalized direction of a {@link ForceFieldType#WIND} field.
+     */
+    public Vector2d getDirection() {
+        return direction;
+    }
+
+    /**
+     * Set the direction of a {@link ForceFieldType#WIND} field, normalized.
+     *
+     * @param x the horizontal component of the direction
+     * @param y the vertical component of the direction
+     * @return the updated {@link ForceFieldComponent}.
+     */
+    public ForceFieldComponent setDirection(double x, double y) {
+        double l = Math.sqrt(x * x + y * y);
+        this.direction = l > 0 ? new Vector2d(x / l, y / l) : new Vector2d(0, 0);
+        return this;
+    }
+
+    /**
+     * @return true if the field applies its force, false once an explosion has been applied.
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * @param active true to apply the force of the field, false to ignore it.
+     * @return the updated {@link ForceFieldComponent}.
+     */
+    public ForceFieldComponent setActive(boolean active) {
+        this.active = active;
+        return this;
+    }
+}
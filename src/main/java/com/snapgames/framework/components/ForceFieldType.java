@@ -0,0 +1,17 @@
+package com.snapgames.framework.components;
+
+/**
+ * The {@link ForceFieldType} enumeration proposes the possible kinds of
+ * {@link ForceFieldComponent}:
+ * <ul>
+ *     <li>{@link #WIND}, a directional force applied on the bodies into the field area,</li>
+ *     <li>{@link #ATTRACTOR}, a force toward the field center (away from it with a negative strength),</li>
+ *     <li>{@link #EXPLOSION}, a one-shot radial impulse away from the field center.</li>
+ * </ul>
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public enum ForceFieldType {
+    WIND, ATTRACTOR, EXPLOSION;
+}
@@ -16,6 +16,8 @@ import java.awt.*;
  * @since 0.0.1
  */
 public class GaugeComponent implements Component {
+    private static final long serialVersionUID = 1L;
+
     double value = 0;
     double min = 0;
     double max = 100;
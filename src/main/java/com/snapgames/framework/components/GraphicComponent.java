@@ -3,6 +3,7 @@ package com.snapgames.framework.components;
 import java.awt.Color;
 import java.awt.Shape;
 import java.awt.geom.Rectangle2D;
+import java.awt.geom.RectangularShape;
 
 import com.snapgames.framework.entities.Camera;
 import com.snapgames.framework.entities.Entity;
@@ -18,8 +19,11 @@ import com.snapgames.framework.math.Vector2d;
  */
 
 public class GraphicComponent implements Component {
+    private static final long serialVersionUID = 1L;
+
     private Color color;
     private Color fillColor;
+    @SuppressWarnings("serial") // the java.awt.geom shapes are serializable.
     private Shape shape;
 
     private boolean stickToViewport = false;
@@ -76,8 +80,19 @@ public class GraphicComponent implements Component {
         return this;
     }
 
+    /**
+     * Move and resize the shape to the given position and size. A rectangular shape
+     * (e.g. a {@link java.awt.geom.Ellipse2D}) keeps its kind and is updated in place.
+     *
+     * @param position the new position of the shape.
+     * @param size     the new size of the shape.
+     */
     public void update(Vector2d position, Vector2d size) {
-        this.shape = new Rectangle2D.Double(position.x, position.y, size.x, size.y);
+        if (shape instanceof RectangularShape rs) {
+            rs.setFrame(position.x, position.y, size.x, size.y);
+        } else {
+            this.shape = new Rectangle2D.Double(position.x, position.y, size.x, size.y);
+        }
     }
 
     /**
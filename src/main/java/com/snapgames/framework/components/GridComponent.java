@@ -21,9 +21,12 @@ import java.awt.geom.Rectangle2D;
  * @since 0.0.1
  */
 public class GridComponent implements Component {
+    private static final long serialVersionUID = 1L;
+
     private int tileWidth = 16;
     private int tileHeight = 16;
 
+    @SuppressWarnings("serial") // a Rectangle2D.Double, which is serializable.
     private Rectangle2D box;
 
     public GridComponent(int tileWidth, int tileHeight) {
@@ -7,6 +7,7 @@ import java.util.List;
 import com.snapgames.framework.entities.Entity;
 import com.snapgames.framework.entities.Material;
 import com.snapgames.framework.math.Vector2d;
+import com.snapgames.framework.physic.ForceGenerator;
 import com.snapgames.framework.services.PhysicEngineService;
 
 /**
@@ -19,6 +20,8 @@ import com.snapgames.framework.services.PhysicEngineService;
  * @since 0.0.1
  */
 public class PhysicComponent implements Component {
+    private static final long serialVersionUID = 1L;
+
     /**
      * {@link Entity}'s position in a 2D world.
      */
@@ -29,6 +32,29 @@ public class PhysicComponent implements Component {
     private Vector2d size = new Vector2d();
 
     private PhysicType type = PhysicType.DYNAMIC;
+    /**
+     * The collision shape used by the narrow phase of the {@link PhysicEngineService}.
+     */
+    private PhysicShape shape = PhysicShape.AABB;
+    /**
+     * A bullet body is a fast moving body checked with continuous collision detection, so that it
+     * can not tunnel through thin bodies between 2 physic steps.
+     */
+    private boolean bullet = false;
+    /**
+     * A trigger body detects the bodies overlapping it without any physical response
+     * (see {@link com.snapgames.framework.physic.TriggerEvents}).
+     */
+    private boolean trigger = false;
+    /**
+     * The collision category bits of this body (the layers it belongs to) and its collision mask
+     * bits (the layers it collides with). 2 bodies collide only if the category of each one
+     * matches the mask of the other one. Until they are set, the {@link Material} ones are used.
+     */
+    private int category = 0x0001;
+    private int mask = -1;
+    private boolean categorySet = false;
+    private boolean maskSet = false;
     /**
      * {@link Entity}'s velocity.
      */
@@ -38,9 +64,22 @@ public class PhysicComponent implements Component {
      */
     private Vector2d acceleration = new Vector2d();
     /**
-     * Forces applied to the {@link Entity}.
+     * Force accumulator: the sum of all the forces applied to the {@link Entity} since the
+     * previous physic step.
      */
-    private List<Vector2d> forces = new ArrayList<>();
+    private double forceX, forceY;
+    /**
+     * Impulse accumulator: the sum of all the impulses applied to the {@link Entity} since the
+     * previous physic step, directly changing its velocity.
+     */
+    private double impulseX, impulseY;
+    /**
+     * Named persistent force generators, called on each physic step (same index in both lists).
+     */
+    @SuppressWarnings("serial") // always an ArrayList, which is serializable.
+    private final List<String> generatorNames = new ArrayList<>();
+    @SuppressWarnings("serial") // always an ArrayList, which is serializable.
+    private final List<ForceGenerator> generators = new ArrayList<>();
     /**
      * A Material for the Entity used in the Newton's physic computation.
      */
@@ -53,8 +92,34 @@ public class PhysicComponent implements Component {
     /**
      * Bounding Box for the parent Entity.
      */
+    @SuppressWarnings("serial") // always a Rectangle2D.Double, which is serializable.
     private Rectangle2D bbox = new Rectangle2D.Double();
 
+    /**
+     * A sleeping body is not integrated anymore by the {@link PhysicEngineService} until it
+     * is woken up by a contact or an applied force.
+     */
+    private boolean sleeping = false;
+    /**
+     * The time (in milliseconds) the body velocity stayed under the sleep threshold.
+     */
+    private double restTime = 0;
+    /**
+     * Next body of the same sleeping island (circular list), managed by the
+     * {@link PhysicEngineService}; null while the body is not part of a sleeping island.
+     */
+    private transient PhysicComponent islandNext = null;
+    /**
+     * Index of the body in the sleeping bodies of the {@link PhysicEngineService}, -1 while the
+     * body is not one of them.
+     */
+    private transient int sleeperSlot = -1;
+    /**
+     * Number of physic steps between 2 updates of this body: 1 to update it on each step, n to
+     * update it once every n steps (with an n times longer elapsed time), 0 to freeze it.
+     */
+    private int tickInterval = 1;
+
     /**
      * Createa a blanck {@link PhysicComponent} ready to be used within an
      * {@link Entity} fromp the {@link PhysicEngineService}.
@@ -126,29 +191,142 @@ public class PhysicComponent implements Component {
     }
 
     /**
-     * @return List<Vector2d> return the forces
+     * Compute the inverse mass used by the contact solver. Only a {@link PhysicType#DYNAMIC}
+     * body with a positive mass can be moved by a collision; any other one is considered
+     * as having an infinite mass.
+     *
+     * @return the inverse of the mass, or 0 for an immovable body.
      */
-    public List<Vector2d> getForces() {
-        return forces;
+    public double getInverseMass() {
+        return type == PhysicType.DYNAMIC && mass > 0 ? 1.0 / mass : 0.0;
     }
 
     /**
-     * @param forces the forces to set
+     * Add a force to the force accumulator. A sleeping body is woken up.
+     *
+     * @param fx the horizontal component of the force
+     * @param fy the vertical component of the force
+     * @return the updated {@link PhysicComponent}.
      */
-    public void setForces(List<Vector2d> forces) {
-        this.forces = forces;
+    public PhysicComponent applyForce(double fx, double fy) {
+        forceX += fx;
+        forceY += fy;
+        if (sleeping) {
+            wakeUp();
+        }
+        return this;
     }
 
     /**
-     * Add a specific Vector2d force to the forces list.
+     * Add a specific Vector2d force to the force accumulator.
      *
-     * @param force
+     * @param force the force to be applied.
+     * @return the updated {@link PhysicComponent}.
      */
     public PhysicComponent add(Vector2d force) {
-        this.forces.add(force);
+        return applyForce(force.x, force.y);
+    }
+
+    /**
+     * Add an impulse to the impulse accumulator: on the next step, the velocity changes by
+     * the impulse divided by the mass. A sleeping body is woken up.
+     *
+     * @param ix the horizontal component of the impulse
+     * @param iy the vertical component of the impulse
+     * @return the updated {@link PhysicComponent}.
+     */
+    public PhysicComponent applyImpulse(double ix, double iy) {
+        impulseX += ix;
+        impulseY += iy;
+        if (sleeping) {
+            wakeUp();
+        }
+        return this;
+    }
+
+    /**
+     * @return the horizontal component of the accumulated forces.
+     */
+    public double getForceX() {
+        return forceX;
+    }
+
+    /**
+     * @return the vertical component of the accumulated forces.
+     */
+    public double getForceY() {
+        return forceY;
+    }
+
+    /**
+     * @return the horizontal component of the accumulated impulses.
+     */
+    public double getImpulseX() {
+        return impulseX;
+    }
+
+    /**
+     * @return the vertical component of the accumulated impulses.
+     */
+    public double getImpulseY() {
+        return impulseY;
+    }
+
+    /**
+     * Reset the force and impulse accumulators, once consumed by the physic step.
+     */
+    public void clearForces() {
+        forceX = 0.0;
+        forceY = 0.0;
+        impulseX = 0.0;
+        impulseY = 0.0;
+    }
+
+    /**
+     * Attach a named persistent {@link ForceGenerator} to this body, replacing any existing
+     * generator with the same name.
+     *
+     * @param name      the name of the generator
+     * @param generator the {@link ForceGenerator} to be attached.
+     * @return the updated {@link PhysicComponent}.
+     */
+    public PhysicComponent addForceGenerator(String name, ForceGenerator generator) {
+        int i = generatorNames.indexOf(name);
+        if (i == -1) {
+            generatorNames.add(name);
+            generators.add(generator);
+        } else {
+            generators.set(i, generator);
+        }
         return this;
     }
 
+    /**
+     * Remove the named {@link ForceGenerator} from this body.
+     *
+     * @param name the name of the generator to be removed.
+     * @return the updated {@link PhysicComponent}.
+     */
+    public PhysicComponent removeForceGenerator(String name) {
+        int i = generatorNames.indexOf(name);
+        if (i != -1) {
+            generatorNames.remove(i);
+            generators.remove(i);
+        }
+        return this;
+    }
+
+    /**
+     * Call all the attached {@link ForceGenerator}s to feed the force accumulator.
+     *
+     * @param elapsed the elapsed time since previous step (in milliseconds).
+     */
+    public void applyForceGenerators(double elapsed) {
+        for (int i = 0; i < generators.size(); i++) {
+            generators.get(i).apply(this, elapsed);
+        }
+    }
+
     /**
      * @return Material return the material
      */
@@ -220,4 +398,180 @@ public class PhysicComponent implements Component {
         return this;
     }
 
+    /**
+     * @return true if the body is currently sleeping.
+     */
+    public boolean isSleeping() {
+        return sleeping;
+    }
+
+    /**
+     * @param sleeping the sleeping state to set
+     * @return the updated {@link PhysicComponent}.
+     */
+    public PhysicComponent setSleeping(boolean sleeping) {
+        this.sleeping = sleeping;
+        return this;
+    }
+
+    /**
+     * Wake up this body: it will be integrated again on the next physic step,
+     * with all the other bodies of its sleeping island.
+     *
+     * @return the updated {@link PhysicComponent}.
+     */
+    public PhysicComponent wakeUp() {
+        this.sleeping = false;
+        this.restTime = 0;
+        return this;
+    }
+
+    /**
+     * @return double return the time (in milliseconds) the body stayed at rest.
+     */
+    public double getRestTime() {
+        return restTime;
+    }
+
+    /**
+     * @param restTime the rest time to set (in milliseconds)
+     */
+    public void setRestTime(double restTime) {
+        this.restTime = restTime;
+    }
+
+    /**
+     * @return the next body of the same sleeping island, or null.
+     */
+    public PhysicComponent getIslandNext() {
+        return islandNext;
+    }
+
+    /**
+     * @param next the next body of the same sleeping island.
+     */
+    public void setIslandNext(PhysicComponent next) {
+        this.islandNext = next;
+    }
+
+    /**
+     * @return the index of the body in the sleeping bodies of the physic engine, or -1.
+     */
+    public int getSleeperSlot() {
+        return sleeperSlot;
+    }
+
+    /**
+     * @param slot the index of the body in the sleeping bodies of the physic engine, or -1.
+     */
+    public void setSleeperSlot(int slot) {
+        this.sleeperSlot = slot;
+    }
+
+    /**
+     * @return the number of physic steps between 2 updates of this body (0 when frozen).
+     */
+    public int getTickInterval() {
+        return tickInterval;
+    }
+
+    /**
+     * @param tickInterval the number of physic steps between 2 updates of this body (0 to freeze it).
+     * @return the updated {@link PhysicComponent}.
+     */
+    public PhysicComponent setTickInterval(int tickInterval) {
+        this.tickInterval = tickInterval;
+        return this;
+    }
+
+    /**
+     * @return PhysicShape return the collision shape
+     */
+    public PhysicShape getShape() {
+        return shape;
+    }
+
+    /**
+     * @param shape the collision shape to set
+     * @return the updated {@link PhysicComponent}.
+     */
+    public PhysicComponent setShape(PhysicShape shape) {
+        this.shape = shape;
+        return this;
+    }
+
+    /**
+     * @return the collision category bits of this body.
+     */
+    public int getCategory() {
+        return categorySet || material == null ? category : material.getCategory();
+    }
+
+    /**
+     * @param category the collision category bits (the layers this body belongs to).
+     * @return the updated {@link PhysicComponent}.
+     */
+    public PhysicComponent setCategory(int category) {
+        this.category = category;
+        this.categorySet = true;
+        return this;
+    }
+
+    /**
+     * @return the collision mask bits of this body.
+     */
+    public int getMask() {
+        return maskSet || material == null ? mask : material.getMask();
+    }
+
+    /**
+     * @param mask the collision mask bits (the layers this body collides with, 0 for none).
+     * @return the updated {@link PhysicComponent}.
+     */
+    public PhysicComponent setMask(int mask) {
+        this.mask = mask;
+        this.maskSet = true;
+        return this;
+    }
+
+    /**
+     * @return true if this body can collide with at least one layer. Bodies colliding with no
+     * layer are kept out of the broad phase, and are not found by the physic engine queries.
+     */
+    public boolean isColliding() {
+        return getCategory() != 0 && getMask() != 0;
+    }
+
+    /**
+     * @return true if this body is checked with continuous collision detection.
+     */
+    public boolean isBullet() {
+        return bullet;
+    }
+
+    /**
+     * @param bullet true to check this fast moving body with continuous collision detection.
+     * @return the updated {@link PhysicComponent}.
+     */
+    public PhysicComponent setBullet(boolean bullet) {
+        this.bullet = bullet;
+        return this;
+    }
+
+    /**
+     * @return true if this body is a trigger volume, reporting overlaps instead of colliding.
+     */
+    public boolean isTrigger() {
+        return trigger;
+    }
+
+    /**
+     * @param trigger true to turn this body into a trigger volume.
+     * @return the updated {@link PhysicComponent}.
+     */
+    public PhysicComponent setTrigger(boolean trigger) {
+        this.trigger = trigger;
+        return this;
+    }
+
 }
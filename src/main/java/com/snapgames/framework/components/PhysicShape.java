@@ -0,0 +1,18 @@
+package com.snapgames.framework.components;
+
+import com.snapgames.framework.entities.Entity;
+
+/**
+ * The {@link PhysicShape} enumeration proposes all the collision shapes the
+ * {@link com.snapgames.framework.services.PhysicEngineService} narrow phase is
+ * able to process for an {@link Entity} having a {@link PhysicComponent}.
+ * <p>
+ * - {@code AABB}: the axis aligned bounding box defined by position and size,
+ * - {@code CIRCLE}: the circle inscribed in the bounding box (radius is half the smallest side).
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public enum PhysicShape {
+    AABB, CIRCLE;
+}
@@ -13,6 +13,8 @@ package com.snapgames.framework.components;
  * @since 0.0.1
  */
 public class PriorityComponent implements Component {
+    private static final long serialVersionUID = 1L;
+
     private int priority = 0;
 
     public PriorityComponent() {
@@ -17,6 +17,8 @@ import com.snapgames.framework.entities.Entity;
  * @since 0.0.1
  */
 public class TargetComponent implements Component {
+    private static final long serialVersionUID = 1L;
+
     private Entity target = null;
     private double tweenFactor = 1.0;
 
@@ -1,23 +1,58 @@
 package com.snapgames.framework.components;
 
 import com.snapgames.framework.entities.Entity;
+import com.snapgames.framework.math.CharFormatter;
 
 import java.awt.*;
 
 /**
  * The TextComponent class provide all the required elements to manage and
  * display some text on screen.
+ * <p>
+ * The text may contain a format pattern for its value. A number set with
+ * {@link #setValue(long)} or {@link #setValue(double)} is kept in a primitive slot, and when the
+ * pattern contains a single <code>%d</code> or <code>%f</code> conversion (with optional zero
+ * padding, width and precision, eg. <code>"Score %05d"</code> or <code>"%6.2f s"</code>), it is
+ * formatted into a reusable character buffer (see {@link CharFormatter}): updating a counter on
+ * each frame produces no garbage. Any other pattern or value is formatted by
+ * {@link String#formatted(Object...)}.
  *
  * @author Frédéric Delorme
  * @since 0.0.2
  */
 
 public class TextComponent implements Component {
+    private static final long serialVersionUID = 1L;
+
     private Font textFont;
     private String text;
+    @SuppressWarnings("serial") // the displayed values are numbers or texts, which are serializable.
     private Object value;
     private Color textColor = Color.WHITE;
 
+    /**
+     * The primitive value slot, used when <code>numeric</code> is true.
+     */
+    private boolean numeric = false;
+    private boolean decimal = false;
+    private long longValue;
+    private double doubleValue;
+
+    /**
+     * The parsed number conversion of the text, <code>conversion</code> being 0 when the text
+     * is not supported by the {@link CharFormatter}.
+     */
+    private char conversion = 0;
+    private String prefix = "";
+    private String suffix = "";
+    private int width = 0;
+    private int precision = 6;
+    private boolean zeroPad = false;
+
+    private final CharFormatter formatter = new CharFormatter();
+    private boolean formatted = false;
+    private int version = 0;
+
     public TextComponent() {
         text = "";
         value = null;
@@ -36,6 +71,7 @@ public class TextComponent implements Component {
      */
     public TextComponent setTextFont(Font textFont) {
         this.textFont = textFont;
+        changed();
         return this;
     }
 
@@ -43,26 +79,79 @@ public class TextComponent implements Component {
      * @return String return the text or the formatted value.
      */
     public String getText() {
+        if (numeric && conversion != 0) {
+            format();
+            return formatter.toString();
+        }
         if (text.contains("%")) {
-            return text.formatted(value);
+            return text.formatted(getValue());
         }
         return text;
     }
 
+    /**
+     * @return String return the text, before any formatting of the value.
+     */
+    public String getRawText() {
+        return text;
+    }
+
     /**
      * @param text the text to set
      * @return this {@link TextComponent} updated.
      */
     public TextComponent setText(String text) {
         this.text = text;
+        parseText();
+        changed();
         return this;
     }
 
+    /**
+     * Parse the number conversion of the text: <code>%[0][width][.precision](d|f)</code>.
+     */
+    private void parseText() {
+        conversion = 0;
+        int start = text.indexOf('%');
+        if (start < 0) {
+            return;
+        }
+        int i = start + 1;
+        zeroPad = i < text.length() && text.charAt(i) == '0';
+        if (zeroPad) {
+            i++;
+        }
+        width = 0;
+        while (i < text.length() && Character.isDigit(text.charAt(i))) {
+            width = width * 10 + text.charAt(i++) - '0';
+        }
+        precision = 6;
+        if (i < text.length() && text.charAt(i) == '.') {
+            precision = 0;
+            i++;
+            while (i < text.length() && Character.isDigit(text.charAt(i))) {
+                precision = precision * 10 + text.charAt(i++) - '0';
+            }
+        }
+        if (i < text.length() && (text.charAt(i) == 'd' || text.charAt(i) == 'f')
+                && text.indexOf('%', i) < 0) {
+            conversion = text.charAt(i);
+            prefix = text.substring(0, start);
+            suffix = text.substring(i + 1);
+        }
+    }
+
     /**
      * @return Object return the value
      */
     public Object getValue() {
-        return value;
+        if (!numeric) {
+            return value;
+        }
+        if (decimal) {
+            return doubleValue;
+        }
+        return longValue;
     }
 
     /**
@@ -71,9 +160,99 @@ public class TextComponent implements Component {
      */
     public TextComponent setValue(Object value) {
         this.value = value;
+        this.numeric = false;
+        changed();
         return this;
     }
 
+    /**
+     * Set an integer value, kept without boxing. The text is not formatted again when the value
+     * is unchanged.
+     *
+     * @param value the value to set
+     * @return this {@link TextComponent} updated.
+     */
+    public TextComponent setValue(long value) {
+        if (!numeric || decimal || longValue != value) {
+            this.numeric = true;
+            this.decimal = false;
+            this.longValue = value;
+            this.value = null;
+            changed();
+        }
+        return this;
+    }
+
+    /**
+     * Set a decimal value, kept without boxing. The text is not formatted again when the value
+     * is unchanged.
+     *
+     * @param value the value to set
+     * @return this {@link TextComponent} updated.
+     */
+    public TextComponent setValue(double value) {
+        if (!numeric || !decimal || Double.compare(doubleValue, value) != 0) {
+            this.numeric = true;
+            this.decimal = true;
+            this.doubleValue = value;
+            this.value = null;
+            changed();
+        }
+        return this;
+    }
+
+    private void changed() {
+        formatted = false;
+        version++;
+    }
+
+    /**
+     * Format the text into the character buffer, if it changed since the last call. An integer
+     * value is converted to a decimal one for a <code>%f</code> conversion, and a decimal value
+     * is truncated for a <code>%d</code> one.
+     */
+    private void format() {
+        if (formatted) {
+            return;
+        }
+        formatter.clear();
+        if (numeric && conversion != 0) {
+            formatter.append(prefix);
+            if (conversion == 'd') {
+                formatter.append(decimal ? (long) doubleValue : longValue, width, zeroPad);
+            } else {
+                formatter.append(decimal ? doubleValue : longValue, precision, width, zeroPad);
+            }
+            formatter.append(suffix);
+        } else {
+            formatter.append(getText());
+        }
+        formatted = true;
+    }
+
+    /**
+     * @return the characters of the formatted text, valid up to {@link #getLength()}.
+     */
+    public char[] getChars() {
+        format();
+        return formatter.getChars();
+    }
+
+    /**
+     * @return the length of the formatted text.
+     */
+    public int getLength() {
+        format();
+        return formatter.length();
+    }
+
+    /**
+     * @return a number changed each time the formatted text may have changed.
+     */
+    public int getVersion() {
+        return version;
+    }
+
     public TextComponent setTextColor(Color color) {
         this.textColor = color;
         return this;
@@ -6,6 +6,9 @@ import com.snapgames.framework.components.PhysicComponent;
 import com.snapgames.framework.components.TargetComponent;
 
 public class Camera extends Entity {
+    private static final long serialVersionUID = 1L;
+
+    @SuppressWarnings("serial") // always a Rectangle2D.Double, which is serializable.
     public Rectangle2D viewport = new Rectangle2D.Double(0, 0, 320, 200);
 
     public Camera(String name) {
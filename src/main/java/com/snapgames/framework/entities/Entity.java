@@ -1,8 +1,10 @@
 package com.snapgames.framework.entities;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,7 +20,9 @@ import com.snapgames.framework.components.Component;
  * @author Frédéric Delorme
  * @since 0.0.1
  */
-public class Entity {
+public class Entity implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     /**
      * internale index entity counter.
      */
@@ -41,11 +45,13 @@ public class Entity {
      */
     private static Entity root = null;
 
+    @SuppressWarnings("serial") // always an ArrayList, which is serializable.
     List<Component> components = new ArrayList<>();
 
     /**
      * List of children for this Entity. default is an empty list.
      */
+    @SuppressWarnings("serial") // always an ArrayList, which is serializable.
     private List<Entity> children = new ArrayList<>();
 
     private long duration = -1;
@@ -173,7 +179,13 @@ public class Entity {
      * @throws java.util.NoSuchElementException if no component of the specified type is found.
      */
     public <T extends Component> T getComponent(Class<? extends Component> class1) {
-        return (T) components.stream().filter(c -> c.getClass().equals(class1)).findFirst().get();
+        for (int i = 0; i < components.size(); i++) {
+            Component c = components.get(i);
+            if (c.getClass().equals(class1)) {
+                return (T) c;
+            }
+        }
+        throw new NoSuchElementException("No value present");
     }
 
     /**
@@ -192,7 +204,12 @@ public class Entity {
      * @return {@code true} if a component of the specified class type exists in the entity, {@code false} otherwise.
      */
     public boolean containsComponent(Class<? extends Component> class1) {
-        return components.stream().anyMatch(c -> c.getClass().equals(class1));
+        for (int i = 0; i < components.size(); i++) {
+            if (components.get(i).getClass().equals(class1)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
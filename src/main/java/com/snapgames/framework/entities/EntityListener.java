@@ -0,0 +1,25 @@
+package com.snapgames.framework.entities;
+
+/**
+ * An {@link EntityListener} is notified each time an {@link Entity} is added to or removed from the
+ * {@link com.snapgames.framework.services.EntityManagerService}, so that the structures built on
+ * the managed entities are updated incrementally instead of being rebuilt.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public interface EntityListener {
+    /**
+     * Called when an {@link Entity} has been added.
+     *
+     * @param e the added {@link Entity}.
+     */
+    void onEntityAdded(Entity e);
+
+    /**
+     * Called when an {@link Entity} has been removed.
+     *
+     * @param e the removed {@link Entity}.
+     */
+    void onEntityRemoved(Entity e);
+}
@@ -1,5 +1,7 @@
 package com.snapgames.framework.entities;
 
+import java.io.Serializable;
+
 /**
  * The Material class represents a physical material with specific properties
  * such as name, density, elasticity, and roughness. This class provides a way
@@ -10,7 +12,8 @@ package com.snapgames.framework.entities;
  * @since 0.0.1
  */
 
-public class Material {
+public class Material implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     /**
      * Default instance of the {@code Material} class with pre-defined properties.
@@ -57,6 +60,13 @@ public class Material {
      * of the material.
      */
     private double roughness = 1.0;
+    /**
+     * Default collision category bits (the layers) and collision mask bits (the layers collided)
+     * of the bodies made of this material, unless defined on their own PhysicComponent.
+     * By default, a material belongs to the first layer and collides with all the layers.
+     */
+    private int category = 0x0001;
+    private int mask = -1;
 
     /**
      * Constructs a new Material object with default property values.
@@ -144,4 +154,46 @@ public class Material {
         this.roughness = roughness;
     }
 
+    /**
+     * @return int return the default collision category bits
+     */
+    public int getCategory() {
+        return category;
+    }
+
+    /**
+     * @param category the default collision category bits to set
+     */
+    public void setCategory(int category) {
+        this.category = category;
+    }
+
+    /**
+     * @return int return the default collision mask bits
+     */
+    public int getMask() {
+        return mask;
+    }
+
+    /**
+     * @param mask the default collision mask bits to set
+     */
+    public void setMask(int mask) {
+        this.mask = mask;
+    }
+
+    /**
+     * Keep the identity of {@link Material#DEFAULT} when reading back streamed entities: a material
+     * with the default name and the same properties is resolved to the shared default instance.
+     *
+     * @return {@link Material#DEFAULT} if this material is a copy of it, this material otherwise.
+     */
+    private Object readResolve() {
+        Material d = DEFAULT;
+        boolean isDefault = d != null && d.name.equals(name)
+                && d.density == density && d.elasticity == elasticity && d.roughness == roughness
+                && d.category == category && d.mask == mask;
+        return isDefault ? d : this;
+    }
+
 }
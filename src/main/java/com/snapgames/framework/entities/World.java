@@ -15,6 +15,7 @@ import com.snapgames.framework.services.PhysicEngineService;
  * @since 0.0.2
  */
 public class World extends Entity {
+    private static final long serialVersionUID = 1L;
 
     /**
      * The {@code playArea} represents the rectangular area that defines the boundaries
@@ -22,6 +23,7 @@ public class World extends Entity {
      * It is primarily used by physics components for managing spatial constraints
      * and ensuring entities remain within the defined playable region.
      */
+    @SuppressWarnings("serial") // always a Rectangle2D.Double, which is serializable.
     private Rectangle2D playArea = new Rectangle2D.Double();
     /**
      * The {@code gravity} vector defines the gravitational force applied within the
@@ -32,8 +34,9 @@ public class World extends Entity {
 
     /**
      * Constructs a new {@code World} instance with the specified gravity vector and play area.
-     * This constructor initializes the world by adding a {@link PhysicComponent} containing the
-     * specified gravity force and the play area dimensions.
+     * This constructor initializes the world by adding a {@link PhysicComponent} with the
+     * play area dimensions; the gravity is a global field applied by the
+     * {@link PhysicEngineService} on any contained {@link Entity}.
      *
      * @param gravity the gravitational force to be applied to entities within the world,
      *                represented as a {@link Vector2d}.
@@ -41,24 +44,20 @@ public class World extends Entity {
      *                {@link Rectangle2D.Double}.
      */
     public World(Vector2d gravity, Rectangle2D.Double aDouble) {
-        this.components.add(new PhysicComponent().add(gravity).setPosition(new Vector2d()).setSize(aDouble.getWidth(),
+        this.gravity = gravity;
+        this.components.add(new PhysicComponent().setPosition(new Vector2d()).setSize(aDouble.getWidth(),
                 aDouble.getHeight()));
 
     }
 
     /**
      * Updates the gravitational force acting within the {@code World}.
-     * This method clears all existing forces in the {@link PhysicComponent}
-     * and sets the new gravitational force.
      *
      * @param g the new gravitational force to be applied, represented as a {@link Vector2d}.
      * @return the updated instance of {@code World} with the newly set gravity.
      */
     public World setGravity(Vector2d g) {
-        PhysicComponent pc = getComponent(PhysicComponent.class);
         this.gravity = g;
-        pc.getForces().clear();
-        pc.add(g);
         return this;
     }
 
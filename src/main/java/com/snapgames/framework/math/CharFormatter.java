@@ -0,0 +1,206 @@
+package com.snapgames.framework.math;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * A {@link CharFormatter} is a reusable character buffer, formatting texts and numbers without
+ * any allocation: the formatted characters are written into its array, which only grows when a
+ * text longer than ever is formatted.
+ * <p>
+ * Numbers are formatted like the <code>%d</code> and <code>%f</code> conversions of
+ * {@link String#format(String, Object...)}, with a minimum width padded with spaces or zeros,
+ * and a precision for the decimal numbers. The decimal separator is always a dot.
+ * <p>
+ * eg. usage, the formatting of a timer as <code>"Time 012.50"</code>:
+ * <pre>
+ * formatter.clear().append("Time ").append(12.5, 2, 6, true);
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class CharFormatter implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+            10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+            10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L};
+    /**
+     * The largest scaled decimal number formatted here: beyond 15 digits, the digits of a double
+     * are not exact anymore.
+     */
+    private static final double MAX_EXACT = 1e15;
+    private char[] chars;
+    private int length = 0;
+
+    /**
+     * Create a new {@link CharFormatter} with a default capacity of 16 characters.
+     */
+    public CharFormatter() {
+        this(16);
+    }
+
+    /**
+     * Create a new {@link CharFormatter}.
+     *
+     * @param capacity the initial capacity of the buffer.
+     */
+    public CharFormatter(int capacity) {
+        chars = new char[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Remove all the characters from the buffer.
+     *
+     * @return this {@link CharFormatter} updated.
+     */
+    public CharFormatter clear() {
+        length = 0;
+        return this;
+    }
+
+    /**
+     * Append a text.
+     *
+     * @param text the text to be appended.
+     * @return this {@link CharFormatter} updated.
+     */
+    public CharFormatter append(String text) {
+        ensure(length + text.length());
+        text.getChars(0, text.length(), chars, length);
+        length += text.length();
+        return this;
+    }
+
+    /**
+     * Append an integer number, like the <code>%d</code> conversion.
+     *
+     * @param value   the number to be formatted.
+     * @param width   the minimum number of characters.
+     * @param zeroPad true to pad with zeros after the sign, false to pad with spaces before it.
+     * @return this {@link CharFormatter} updated.
+     */
+    public CharFormatter append(long value, int width, boolean zeroPad) {
+        boolean negative = value < 0;
+        int digits = digits(value);
+        int pad = padding(width, (negative ? 1 : 0) + digits, zeroPad);
+        if (negative) {
+            chars[length++] = '-';
+        }
+        length = zeros(pad, zeroPad);
+        writeDigits(value, digits);
+        return this;
+    }
+
+    /**
+     * Append a decimal number, like the <code>%f</code> conversion: the JDK rounds half up the
+     * decimal representation of the value (<code>1.005</code> gives <code>"1.01"</code>, while
+     * the nearest double is below it). The binary value gives the same rounding, except when it is
+     * within a few ulps of a half: these rare values, like <code>NaN</code>, infinite values and
+     * values with more digits than a double holds, are formatted by the JDK, with an allocation.
+     *
+     * @param value     the number to be formatted.
+     * @param precision the number of digits after the decimal separator (up to 18).
+     * @param width     the minimum number of characters.
+     * @param zeroPad   true to pad with zeros after the sign, false to pad with spaces before it.
+     * @return this {@link CharFormatter} updated.
+     */
+    public CharFormatter append(double value, int precision, int width, boolean zeroPad) {
+        int p = Math.max(0, Math.min(precision, POWERS_OF_TEN.length - 1));
+        long scale = POWERS_OF_TEN[p];
+        double scaled = Math.abs(value) * scale;
+        double half = scaled - Math.floor(scaled) - 0.5;
+        if (!(scaled < MAX_EXACT) || Math.abs(half) <= 4 * Math.ulp(scaled)) {
+            String format = "%" + (width > 0 ? (zeroPad ? "0" : "") + width : "") + "." + p + "f";
+            return append(String.format(Locale.ROOT, format, value));
+        }
+        long n = (long) Math.floor(scaled) + (half > 0 ? 1 : 0);
+        long integer = n / scale;
+        // the sign bit, to keep the sign of -0.0.
+        boolean negative = Double.doubleToRawLongBits(value) < 0;
+        int digits = digits(integer);
+        int pad = padding(width, (negative ? 1 : 0) + digits + (p > 0 ? p + 1 : 0), zeroPad);
+        if (negative) {
+            chars[length++] = '-';
+        }
+        length = zeros(pad, zeroPad);
+        writeDigits(integer, digits);
+        if (p > 0) {
+            chars[length++] = '.';
+            writeDigits(n % scale, p);
+        }
+        return this;
+    }
+
+    /**
+     * Reserve the room for a number and write its leading spaces.
+     *
+     * @return the number of zeros still to be written.
+     */
+    private int padding(int width, int size, boolean zeroPad) {
+        int pad = Math.max(0, width - size);
+        ensure(length + pad + size);
+        if (!zeroPad) {
+            Arrays.fill(chars, length, length + pad, ' ');
+            length += pad;
+            return 0;
+        }
+        return pad;
+    }
+
+    private int zeros(int pad, boolean zeroPad) {
+        if (zeroPad) {
+            Arrays.fill(chars, length, length + pad, '0');
+        }
+        return length + pad;
+    }
+
+    /**
+     * Write the <code>count</code> last digits of a number, from right to left.
+     */
+    private void writeDigits(long value, int count) {
+        long v = value;
+        for (int i = length + count - 1; i >= length; i--) {
+            chars[i] = (char) ('0' + Math.abs(v % 10));
+            v /= 10;
+        }
+        length += count;
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        for (long v = value; v <= -10 || v >= 10; v /= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private void ensure(int capacity) {
+        if (capacity > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(capacity, chars.length * 2));
+        }
+    }
+
+    /**
+     * @return the characters of the buffer, valid up to {@link #length()}.
+     */
+    public char[] getChars() {
+        return chars;
+    }
+
+    /**
+     * @return the number of characters in the buffer.
+     */
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+}
@@ -0,0 +1,51 @@
+package com.snapgames.framework.math;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The {@link RandomStreams} provides named pseudo-random number generators, all derived from one
+ * seed. Each stream is independent: drawing more numbers from one stream does not change the
+ * sequence of the other ones, and the same seed always gives the same sequences, on any JVM
+ * (see {@link Random}).
+ * <p>
+ * eg. usage:
+ * <pre>
+ * Random rnd = streams.get("enemies");
+ * double mass = rnd.nextDouble() * 100.0 + 10.0;
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class RandomStreams {
+    private final long seed;
+    private final Map<String, Random> streams = new HashMap<>();
+
+    /**
+     * Create a new set of random streams.
+     *
+     * @param seed the seed all the streams are derived from.
+     */
+    public RandomStreams(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Retrieve a named stream, created on first use.
+     *
+     * @param name the name of the stream.
+     * @return the {@link Random} generator of the stream.
+     */
+    public Random get(String name) {
+        return streams.computeIfAbsent(name, n -> new Random(seed ^ (n.hashCode() * 0x9E3779B97F4A7C15L)));
+    }
+
+    /**
+     * @return the seed all the streams are derived from.
+     */
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -1,5 +1,6 @@
 package com.snapgames.framework.math;
 
+import java.io.Serializable;
 import java.util.List;
 import java.util.Objects;
 
@@ -28,7 +29,9 @@ import java.util.Objects;
  * @author Frédéric Delorme
  * @since 0.1.3
  */
-public class Vector2d {
+public class Vector2d implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     public double x, y;
 
     public Vector2d() {
@@ -0,0 +1,336 @@
+package com.snapgames.framework.physic;
+
+import com.snapgames.framework.components.PhysicComponent;
+import com.snapgames.framework.components.PhysicShape;
+
+/**
+ * The {@link Collisions} class gathers the narrow phase tests of the physic engine.
+ * Each test checks a pair of {@link PhysicComponent} according to their {@link PhysicShape}
+ * and, on collision, writes the normal (from A to B) and the penetration depth into
+ * the provided {@link Contact}.
+ * <p>
+ * No object is allocated during a test; all computations are done on primitive values.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public final class Collisions {
+
+    private Collisions() {
+        // utility class
+    }
+
+    /**
+     * Bitwise layer filtering: 2 bodies can collide only if the collision category of each one
+     * matches the collision mask of the other one.
+     *
+     * @param a the first body
+     * @param b the second body
+     * @return true if the 2 bodies can collide.
+     */
+    public static boolean canCollide(PhysicComponent a, PhysicComponent b) {
+        return (a.getCategory() & b.getMask()) != 0 && (b.getCategory() & a.getMask()) != 0;
+    }
+
+    /**
+     * Check collision between <code>a</code> and <code>b</code>, dispatching to the right
+     * test according to their shapes.
+     *
+     * @param a the first body
+     * @param b the second body
+     * @param c the {@link Contact} to be filled with the normal and penetration.
+     * @return true if the 2 bodies are colliding.
+     */
+    public static boolean collide(PhysicComponent a, PhysicComponent b, Contact c) {
+        boolean circleA = a.getShape() == PhysicShape.CIRCLE;
+        boolean circleB = b.getShape() == PhysicShape.CIRCLE;
+        if (circleA && circleB) {
+            return circleVsCircle(a, b, c);
+        } else if (circleA) {
+            return circleVsAabb(a, b, c, 1.0);
+        } else if (circleB) {
+            return circleVsAabb(b, a, c, -1.0);
+        }
+        return aabbVsAabb(a, b, c);
+    }
+
+    /**
+     * Axis aligned bounding box against axis aligned bounding box test. The normal
+     * is set along the axis of the smallest overlap.
+     */
+    static boolean aabbVsAabb(PhysicComponent a, PhysicComponent b, Contact c) {
+        double ax = a.getPosition().x, ay = a.getPosition().y;
+        double aw = a.getSize().x, ah = a.getSize().y;
+        double bx = b.getPosition().x, by = b.getPosition().y;
+        double bw = b.getSize().x, bh = b.getSize().y;
+
+        double overlapX = Math.min(ax + aw, bx + bw) - Math.max(ax, bx);
+        if (overlapX <= 0) {
+            return false;
+        }
+        double overlapY = Math.min(ay + ah, by + bh) - Math.max(ay, by);
+        if (overlapY <= 0) {
+            return false;
+        }
+        if (overlapX < overlapY) {
+            c.nx = (bx + bw * 0.5) < (ax + aw * 0.5) ? -1.0 : 1.0;
+            c.ny = 0.0;
+            c.penetration = overlapX;
+        } else {
+            c.nx = 0.0;
+            c.ny = (by + bh * 0.5) < (ay + ah * 0.5) ? -1.0 : 1.0;
+            c.penetration = overlapY;
+        }
+        return true;
+    }
+
+    /**
+     * Circle against axis aligned bounding box test.
+     *
+     * @param circle the body with a {@link PhysicShape#CIRCLE} shape
+     * @param box    the body with a {@link PhysicShape#AABB} shape
+     * @param c      the {@link Contact} to be filled
+     * @param sign   1.0 if the circle is the body A of the contact, -1.0 if it is the body B.
+     * @return true if the 2 bodies are colliding.
+     */
+    static boolean circleVsAabb(PhysicComponent circle, PhysicComponent box, Contact c, double sign) {
+        double r = radius(circle);
+        double cx = circle.getPosition().x + circle.getSize().x * 0.5;
+        double cy = circle.getPosition().y + circle.getSize().y * 0.5;
+        double x0 = box.getPosition().x, y0 = box.getPosition().y;
+        double x1 = x0 + box.getSize().x, y1 = y0 + box.getSize().y;
+
+        double px = Math.max(x0, Math.min(cx, x1));
+        double py = Math.max(y0, Math.min(cy, y1));
+        double dx = px - cx;
+        double dy = py - cy;
+        double d2 = dx * dx + dy * dy;
+        if (d2 > r * r) {
+            return false;
+        }
+        if (d2 > 1e-12) {
+            // circle center outside the box: normal from the circle center to the closest point.
+            double d = Math.sqrt(d2);
+            c.nx = dx / d * sign;
+            c.ny = dy / d * sign;
+            c.penetration = r - d;
+        } else {
+            // circle center inside the box: push out through the nearest face.
+            double left = cx - x0, right = x1 - cx, top = cy - y0, bottom = y1 - cy;
+            double min = Math.min(Math.min(left, right), Math.min(top, bottom));
+            if (min == left) {
+                c.nx = -sign;
+                c.ny = 0;
+            } else if (min == right) {
+                c.nx = sign;
+                c.ny = 0;
+            } else if (min == top) {
+                c.nx = 0;
+                c.ny = -sign;
+            } else {
+                c.nx = 0;
+                c.ny = sign;
+            }
+            // the normal must go from the circle toward the box: reverse it.
+            c.nx = -c.nx;
+            c.ny = -c.ny;
+            c.penetration = r + min;
+        }
+        return true;
+    }
+
+    /**
+     * Circle against circle test.
+     */
+    static boolean circleVsCircle(PhysicComponent a, PhysicComponent b, Contact c) {
+        double ra = radius(a), rb = radius(b);
+        double dx = (b.getPosition().x + b.getSize().x * 0.5) - (a.getPosition().x + a.getSize().x * 0.5);
+        double dy = (b.getPosition().y + b.getSize().y * 0.5) - (a.getPosition().y + a.getSize().y * 0.5);
+        double d2 = dx * dx + dy * dy;
+        double r = ra + rb;
+        if (d2 >= r * r) {
+            return false;
+        }
+        if (d2 > 1e-12) {
+            double d = Math.sqrt(d2);
+            c.nx = dx / d;
+            c.ny = dy / d;
+            c.penetration = r - d;
+        } else {
+            c.nx = 0.0;
+            c.ny = 1.0;
+            c.penetration = r;
+        }
+        return true;
+    }
+
+    /**
+     * Swept axis aligned bounding box test: compute the time of impact of the body <code>a</code>,
+     * moving from <code>(startX,startY)</code> to its current position, against the body
+     * <code>b</code> considered at rest. The bounding box of <code>b</code> is expanded by the size
+     * of <code>a</code>, and the movement of the top-left corner of <code>a</code> is tested as a ray
+     * against this expanded box, one axis after the other.
+     * <p>
+     * On impact, the normal (from A to B) is written into the provided {@link Contact}.
+     *
+     * @param a      the moving body, at its end position
+     * @param startX the X start position of the moving body
+     * @param startY the Y start position of the moving body
+     * @param b      the body at rest
+     * @param c      the {@link Contact} to be filled with the normal.
+     * @return the time of impact, as a ratio of the movement in [0,1[, or -1 if the 2 bodies do not
+     * meet during the movement or were already overlapping at start.
+     */
+    public static double sweep(PhysicComponent a, double startX, double startY, PhysicComponent b, Contact c) {
+        double dx = a.getPosition().x - startX;
+        double dy = a.getPosition().y - startY;
+        double x0 = b.getPosition().x - a.getSize().x, x1 = b.getPosition().x + b.getSize().x;
+        double y0 = b.getPosition().y - a.getSize().y, y1 = b.getPosition().y + b.getSize().y;
+
+        double enterX, exitX, enterY, exitY;
+        if (dx == 0.0) {
+            if (startX <= x0 || startX >= x1) {
+                return -1;
+            }
+            enterX = Double.NEGATIVE_INFINITY;
+            exitX = Double.POSITIVE_INFINITY;
+        } else {
+            double t0 = (x0 - startX) / dx, t1 = (x1 - startX) / dx;
+            enterX = Math.min(t0, t1);
+            exitX = Math.max(t0, t1);
+        }
+        if (dy == 0.0) {
+            if (startY <= y0 || startY >= y1) {
+                return -1;
+            }
+            enterY = Double.NEGATIVE_INFINITY;
+            exitY = Double.POSITIVE_INFINITY;
+        } else {
+            double t0 = (y0 - startY) / dy, t1 = (y1 - startY) / dy;
+            enterY = Math.min(t0, t1);
+            exitY = Math.max(t0, t1);
+        }
+        double enter = Math.max(enterX, enterY);
+        double exit = Math.min(exitX, exitY);
+        if (enter > exit || enter < 0.0 || enter >= 1.0) {
+            return -1;
+        }
+        if (enterX > enterY) {
+            c.nx = Math.signum(dx);
+            c.ny = 0.0;
+        } else {
+            c.nx = 0.0;
+            c.ny = Math.signum(dy);
+        }
+        c.penetration = 0.0;
+        return enter;
+    }
+
+    /**
+     * Compute the distance from a point to the shape of a body.
+     *
+     * @param pc the body
+     * @param x  the X position of the point
+     * @param y  the Y position of the point
+     * @return the distance to the shape border, 0 if the point is inside the shape.
+     */
+    public static double distance(PhysicComponent pc, double x, double y) {
+        double x0 = pc.getPosition().x, y0 = pc.getPosition().y;
+        double w = pc.getSize().x, h = pc.getSize().y;
+        if (pc.getShape() == PhysicShape.CIRCLE) {
+            double dx = x - (x0 + w * 0.5);
+            double dy = y - (y0 + h * 0.5);
+            return Math.max(0.0, Math.sqrt(dx * dx + dy * dy) - radius(pc));
+        }
+        double dx = Math.max(Math.max(x0 - x, 0.0), x - (x0 + w));
+        double dy = Math.max(Math.max(y0 - y, 0.0), y - (y0 + h));
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Cast a ray against the shape of a body.
+     *
+     * @param pc          the body
+     * @param ox          the X position of the ray origin
+     * @param oy          the Y position of the ray origin
+     * @param dx          the X component of the normalized ray direction
+     * @param dy          the Y component of the normalized ray direction
+     * @param maxDistance the length of the ray
+     * @param c           the {@link Contact} to be filled with the surface normal at the hit point.
+     * @return the distance from the origin to the hit point, or -1 if the ray does not hit the body.
+     */
+    public static double raycast(PhysicComponent pc, double ox, double oy, double dx, double dy,
+                                 double maxDistance, Contact c) {
+        double x0 = pc.getPosition().x, y0 = pc.getPosition().y;
+        double w = pc.getSize().x, h = pc.getSize().y;
+        if (pc.getShape() == PhysicShape.CIRCLE) {
+            double r = radius(pc);
+            double mx = ox - (x0 + w * 0.5), my = oy - (y0 + h * 0.5);
+            double b = mx * dx + my * dy;
+            double cc = mx * mx + my * my - r * r;
+            if (cc <= 0.0) {
+                // origin inside the circle.
+                c.nx = -dx;
+                c.ny = -dy;
+                return 0.0;
+            }
+            double disc = b * b - cc;
+            if (b > 0.0 || disc < 0.0) {
+                return -1;
+            }
+            double t = -b - Math.sqrt(disc);
+            if (t > maxDistance) {
+                return -1;
+            }
+            c.nx = (mx + dx * t) / r;
+            c.ny = (my + dy * t) / r;
+            return t;
+        }
+        double enterX = Double.NEGATIVE_INFINITY, exitX = Double.POSITIVE_INFINITY;
+        double enterY = Double.NEGATIVE_INFINITY, exitY = Double.POSITIVE_INFINITY;
+        if (dx != 0.0) {
+            double t0 = (x0 - ox) / dx, t1 = (x0 + w - ox) / dx;
+            enterX = Math.min(t0, t1);
+            exitX = Math.max(t0, t1);
+        } else if (ox < x0 || ox > x0 + w) {
+            return -1;
+        }
+        if (dy != 0.0) {
+            double t0 = (y0 - oy) / dy, t1 = (y0 + h - oy) / dy;
+            enterY = Math.min(t0, t1);
+            exitY = Math.max(t0, t1);
+        } else if (oy < y0 || oy > y0 + h) {
+            return -1;
+        }
+        double enter = Math.max(enterX, enterY);
+        double exit = Math.min(exitX, exitY);
+        if (enter > exit || exit < 0.0 || enter > maxDistance) {
+            return -1;
+        }
+        if (enter < 0.0) {
+            // origin inside the box.
+            c.nx = -dx;
+            c.ny = -dy;
+            return 0.0;
+        }
+        if (enterX > enterY) {
+            c.nx = -Math.signum(dx);
+            c.ny = 0.0;
+        } else {
+            c.nx = 0.0;
+            c.ny = -Math.signum(dy);
+        }
+        return enter;
+    }
+
+    /**
+     * Compute the radius of a {@link PhysicShape#CIRCLE} body: half of the smallest side
+     * of its bounding box.
+     *
+     * @param pc the body
+     * @return the circle radius.
+     */
+    public static double radius(PhysicComponent pc) {
+        return Math.min(pc.getSize().x, pc.getSize().y) * 0.5;
+    }
+}
@@ -0,0 +1,131 @@
+package com.snapgames.framework.physic;
+
+import com.snapgames.framework.components.PhysicComponent;
+
+/**
+ * A {@link Contact} is the result of the narrow phase for a pair of colliding bodies:
+ * the collision normal (from body A to body B), the penetration depth and the impulses
+ * accumulated by the {@link ContactSolver}.
+ * <p>
+ * {@link Contact} instances are persistent: as long as the 2 bodies keep touching, the same
+ * instance is reused from one physic step to the next one, and its accumulated impulses are
+ * used to warm-start the solver.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class Contact {
+    /**
+     * Unique pair key built from the 2 entity ids (see {@link PairMap#key(long, long)}).
+     */
+    long key;
+    /**
+     * The index of the 2 bodies into the list of bodies of the current physic step
+     * (-1 for a pre-baked static body).
+     */
+    int indexA, indexB;
+    /**
+     * The {@link PhysicComponent} of the first body (the one with the lowest entity id).
+     */
+    PhysicComponent a;
+    /**
+     * The {@link PhysicComponent} of the second body.
+     */
+    PhysicComponent b;
+    /**
+     * The collision normal, pointing from A to B.
+     */
+    double nx, ny;
+    /**
+     * The penetration depth along the normal.
+     */
+    double penetration;
+    /**
+     * The accumulated impulse along the normal.
+     */
+    double normalImpulse;
+    /**
+     * The accumulated impulse along the tangent (friction).
+     */
+    double tangentImpulse;
+    /**
+     * Mixed restitution and friction coefficients for this pair.
+     */
+    double restitution, friction;
+    /**
+     * The effective mass along the normal, and the restitution target velocity.
+     */
+    double normalMass, bias;
+    /**
+     * The physic step index this contact was last detected.
+     */
+    long frame;
+    /**
+     * The colour of this contact for the current step: contacts of the same colour do not share
+     * any dynamic body, and can be solved concurrently.
+     */
+    int color;
+
+    /**
+     * Create a blank {@link Contact}.
+     */
+    public Contact() {
+        // nothing specific, instances are recycled by the ContactSolver.
+    }
+
+    /**
+     * @return the {@link PhysicComponent} of the first body.
+     */
+    public PhysicComponent getA() {
+        return a;
+    }
+
+    /**
+     * @return the {@link PhysicComponent} of the second body.
+     */
+    public PhysicComponent getB() {
+        return b;
+    }
+
+    /**
+     * @return the X component of the normal (from A to B).
+     */
+    public double getNormalX() {
+        return nx;
+    }
+
+    /**
+     * @return the Y component of the normal (from A to B).
+     */
+    public double getNormalY() {
+        return ny;
+    }
+
+    /**
+     * @return the penetration depth.
+     */
+    public double getPenetration() {
+        return penetration;
+    }
+
+    /**
+     * @return the index of the first body in the current physic step.
+     */
+    public int getIndexA() {
+        return indexA;
+    }
+
+    /**
+     * @return the index of the second body in the current physic step.
+     */
+    public int getIndexB() {
+        return indexB;
+    }
+
+    /**
+     * @return the pair key for this contact.
+     */
+    public long getKey() {
+        return key;
+    }
+}
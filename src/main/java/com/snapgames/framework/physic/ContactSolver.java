@@ -0,0 +1,461 @@
+package com.snapgames.framework.physic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.snapgames.framework.components.PhysicComponent;
+import com.snapgames.framework.entities.Material;
+import com.snapgames.framework.math.Vector2d;
+
+/**
+ * The {@link ContactSolver} resolves the collisions detected by the narrow phase with a
+ * sequential impulse solver:
+ * <ul>
+ *     <li>restitution is the max of the 2 {@link Material#getElasticity()},</li>
+ *     <li>friction is the geometric mean of the 2 {@link Material#getRoughness()},</li>
+ *     <li>impulses are distributed according to the inverse mass of each body.</li>
+ * </ul>
+ * <p>
+ * Contacts are kept in a persistent cache indexed on the pair of entity ids. When a pair is
+ * still touching at the next step, its accumulated impulses are re-applied first
+ * (warm-starting), so stacks and piles of bodies converge within a few iterations.
+ * Contacts not detected anymore are evicted and recycled into a pool.
+ * <p>
+ * Before solving, contacts are split into colours with a greedy graph colouring: 2 contacts of
+ * the same colour never share a dynamic body. Contacts are always solved colour after colour,
+ * and the contacts of a colour may be solved concurrently by a pool of worker threads (see
+ * {@link ContactSolver#setThreads(int)}): each body being updated by one contact at most per
+ * colour, the result does not depend on the number of threads.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class ContactSolver {
+    /**
+     * Penetration allowed without any position correction, avoiding jitter on resting contacts.
+     */
+    private static final double SLOP = 0.05;
+    /**
+     * Ratio of the penetration corrected on each step.
+     */
+    private static final double CORRECTION_PERCENT = 0.6;
+    /**
+     * Minimum approach velocity to trigger a bounce.
+     */
+    private static final double RESTITUTION_THRESHOLD = 0.01;
+    /**
+     * Maximum number of colours: contacts of a body having more contacts than this number are
+     * gathered into an overflow colour, solved by a single thread.
+     */
+    private static final int MAX_COLORS = 64;
+    /**
+     * Minimum number of contacts to solve them with the worker threads.
+     */
+    private static final int PARALLEL_THRESHOLD = 128;
+    /**
+     * Minimum number of contacts of a colour per thread to split it between threads.
+     */
+    private static final int MIN_SLICE = 8;
+    /**
+     * Number of active waiting loops at a barrier before yielding the processor.
+     */
+    private static final int SPIN_LIMIT = 1000;
+
+    private int iterations = 4;
+    private double warmStartFactor = 0.8;
+    private long frame = 0;
+
+    private final PairMap<Contact> cache = new PairMap<>(256);
+    private List<Contact> contacts = new ArrayList<>();
+    private List<Contact> previous = new ArrayList<>();
+    private final List<Contact> pool = new ArrayList<>();
+    private final Contact scratch = new Contact();
+
+    /**
+     * Graph colouring storage: the colours used by each body (indexed on its index into the current
+     * step), and the contacts sorted by colour.
+     */
+    private long[] bodyColors = new long[64];
+    private final int[] colorStart = new int[MAX_COLORS + 2];
+    private Contact[] ordered = new Contact[256];
+
+    /**
+     * Worker threads: the calling thread is the participant 0, the workers the next ones.
+     */
+    private int threads = 1;
+    private Thread[] workers;
+    private Semaphore[] startSignals;
+    private final Semaphore doneSignal = new Semaphore(0);
+    private final AtomicInteger arrived = new AtomicInteger();
+    private volatile int generation = 0;
+    private volatile boolean stopped = false;
+
+    /**
+     * Create a new {@link ContactSolver}.
+     *
+     * @param iterations the number of velocity iterations on each physic step.
+     */
+    public ContactSolver(int iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * Start a new physic step: the contacts of the previous step become candidates
+     * for eviction.
+     */
+    public void begin() {
+        frame++;
+        List<Contact> tmp = previous;
+        previous = contacts;
+        contacts = tmp;
+        contacts.clear();
+    }
+
+    /**
+     * Run the narrow phase on a pair of bodies allowed to collide by their layers (see
+     * {@link Collisions#canCollide(PhysicComponent, PhysicComponent)}), and register the resulting
+     * {@link Contact} if they collide. The body with the lowest id is always set as body A, so that a cached
+     * contact keeps the same normal orientation from one step to the next one.
+     *
+     * @param ia  the index of the first body in the current step
+     * @param idA the entity id of the first body
+     * @param a   the first body
+     * @param ib  the index of the second body in the current step
+     * @param idB the entity id of the second body
+     * @param b   the second body
+     * @return true if a contact has been registered.
+     */
+    public boolean collide(int ia, long idA, PhysicComponent a, int ib, long idB, PhysicComponent b) {
+        if (idA > idB) {
+            return collide(ib, idB, b, ia, idA, a);
+        }
+        if (a.getInverseMass() + b.getInverseMass() == 0.0
+                || !Collisions.canCollide(a, b)
+                || !Collisions.collide(a, b, scratch)) {
+            return false;
+        }
+        long key = PairMap.key(idA, idB);
+        Contact c = cache.get(key);
+        if (c == null) {
+            c = pool.isEmpty() ? new Contact() : pool.remove(pool.size() - 1);
+            c.key = key;
+            c.normalImpulse = 0;
+            c.tangentImpulse = 0;
+            cache.put(key, c);
+        } else {
+            // keep only the part of the cached impulses for warm starting.
+            c.normalImpulse *= warmStartFactor;
+            c.tangentImpulse *= warmStartFactor;
+        }
+        c.a = a;
+        c.b = b;
+        c.indexA = ia;
+        c.indexB = ib;
+        c.nx = scratch.nx;
+        c.ny = scratch.ny;
+        c.penetration = scratch.penetration;
+        c.frame = frame;
+        contacts.add(c);
+        return true;
+    }
+
+    /**
+     * Solve all the registered contacts: warm start, velocity iterations and position correction,
+     * then evict the contacts of the previous step that were not detected again.
+     */
+    public void solve() {
+        color();
+        if (workers == null || contacts.size() < PARALLEL_THRESHOLD) {
+            for (int phase = 0; phase < iterations + 2; phase++) {
+                for (int i = 0; i < contacts.size(); i++) {
+                    run(phase, ordered[i]);
+                }
+            }
+        } else {
+            for (Semaphore start : startSignals) {
+                start.release();
+            }
+            work(0);
+            doneSignal.acquireUninterruptibly(workers.length);
+        }
+        evict();
+    }
+
+    /**
+     * Greedy graph colouring of the contacts: each contact gets the first colour not used yet by
+     * its 2 bodies; bodies with an infinite mass are never updated and do not constrain colours.
+     * Contacts are then sorted by colour, keeping their detection order into a colour.
+     */
+    private void color() {
+        int n = contacts.size();
+        int maxIndex = 0;
+        for (int i = 0; i < n; i++) {
+            Contact c = contacts.get(i);
+            maxIndex = Math.max(maxIndex, Math.max(c.indexA, c.indexB));
+        }
+        if (bodyColors.length <= maxIndex) {
+            bodyColors = new long[Integer.highestOneBit(maxIndex) << 1];
+        }
+        Arrays.fill(bodyColors, 0, maxIndex + 1, 0L);
+        if (ordered.length < n) {
+            ordered = new Contact[Integer.highestOneBit(n) << 1];
+        }
+        Arrays.fill(colorStart, 0);
+        for (int i = 0; i < n; i++) {
+            Contact c = contacts.get(i);
+            boolean dynA = c.a.getInverseMass() != 0.0;
+            boolean dynB = c.b.getInverseMass() != 0.0;
+            long used = (dynA ? bodyColors[c.indexA] : 0L) | (dynB ? bodyColors[c.indexB] : 0L);
+            int color = Long.numberOfTrailingZeros(~used);
+            if (color < MAX_COLORS) {
+                long bit = 1L << color;
+                if (dynA) {
+                    bodyColors[c.indexA] |= bit;
+                }
+                if (dynB) {
+                    bodyColors[c.indexB] |= bit;
+                }
+            }
+            c.color = color;
+            colorStart[color + 1]++;
+        }
+        for (int k = 0; k <= MAX_COLORS; k++) {
+            colorStart[k + 1] += colorStart[k];
+        }
+        int[] next = colorStart.clone();
+        for (int i = 0; i < n; i++) {
+            Contact c = contacts.get(i);
+            ordered[next[c.color]++] = c;
+        }
+    }
+
+    /**
+     * Solve all the colours for all the phases (warm start, velocity iterations, position
+     * correction) as the participant <code>id</code>: each colour is split into one slice per
+     * participant, and all the participants wait for each other before the next colour.
+     *
+     * @param id the participant index, from 0 to threads - 1.
+     */
+    private void work(int id) {
+        for (int phase = 0; phase < iterations + 2; phase++) {
+            for (int color = 0; color <= MAX_COLORS; color++) {
+                int start = colorStart[color];
+                int len = colorStart[color + 1] - start;
+                if (len == 0) {
+                    continue;
+                }
+                if (color == MAX_COLORS || len < threads * MIN_SLICE) {
+                    // overflow colour or too small colour: solved by the first participant only.
+                    if (id == 0) {
+                        for (int i = start; i < start + len; i++) {
+                            run(phase, ordered[i]);
+                        }
+                    }
+                } else {
+                    int end = start + (int) ((long) len * (id + 1) / threads);
+                    for (int i = start + (int) ((long) len * id / threads); i < end; i++) {
+                        run(phase, ordered[i]);
+                    }
+                }
+                await();
+            }
+        }
+    }
+
+    private void run(int phase, Contact c) {
+        if (phase == 0) {
+            preStep(c);
+        } else if (phase <= iterations) {
+            applyImpulse(c);
+        } else {
+            correctPosition(c);
+        }
+    }
+
+    /**
+     * Barrier between the participants: a colour being solved in a few microseconds, participants
+     * first spin, then yield their processor if the others take longer (e.g. more threads than cores).
+     */
+    private void await() {
+        int g = generation;
+        if (arrived.incrementAndGet() == threads) {
+            arrived.set(0);
+            generation = g + 1;
+        } else {
+            for (int spin = 0; generation == g; spin++) {
+                if (spin < SPIN_LIMIT) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+    }
+
+    private void preStep(Contact c) {
+        Material ma = c.a.getMaterial();
+        Material mb = c.b.getMaterial();
+        c.restitution = Math.max(ma.getElasticity(), mb.getElasticity());
+        c.friction = Math.sqrt(ma.getRoughness() * mb.getRoughness());
+        double invA = c.a.getInverseMass();
+        double invB = c.b.getInverseMass();
+        c.normalMass = 1.0 / (invA + invB);
+
+        Vector2d va = c.a.getVelocity();
+        Vector2d vb = c.b.getVelocity();
+        double vn = (vb.x - va.x) * c.nx + (vb.y - va.y) * c.ny;
+        c.bias = vn < -RESTITUTION_THRESHOLD ? -c.restitution * vn : 0.0;
+
+        // warm starting: apply the impulses cached from the previous step.
+        double px = c.nx * c.normalImpulse - c.ny * c.tangentImpulse;
+        double py = c.ny * c.normalImpulse + c.nx * c.tangentImpulse;
+        update(va, -px, -py, invA);
+        update(vb, px, py, invB);
+    }
+
+    /**
+     * Apply an impulse on a body velocity. Bodies with an infinite mass are never written, as they
+     * may be shared by contacts solved concurrently.
+     */
+    private static void update(Vector2d v, double px, double py, double invMass) {
+        if (invMass != 0.0) {
+            v.set(v.x + px * invMass, v.y + py * invMass);
+        }
+    }
+
+    private void applyImpulse(Contact c) {
+        double invA = c.a.getInverseMass();
+        double invB = c.b.getInverseMass();
+        Vector2d va = c.a.getVelocity();
+        Vector2d vb = c.b.getVelocity();
+
+        // normal impulse, accumulated and clamped to stay positive.
+        double vn = (vb.x - va.x) * c.nx + (vb.y - va.y) * c.ny;
+        double jn = c.normalMass * (c.bias - vn);
+        double newImpulse = Math.max(c.normalImpulse + jn, 0.0);
+        jn = newImpulse - c.normalImpulse;
+        c.normalImpulse = newImpulse;
+        update(va, -c.nx * jn, -c.ny * jn, invA);
+        update(vb, c.nx * jn, c.ny * jn, invB);
+
+        // friction impulse along the tangent, bounded by the normal one (Coulomb's law).
+        double tx = -c.ny, ty = c.nx;
+        double vt = (vb.x - va.x) * tx + (vb.y - va.y) * ty;
+        double jt = -c.normalMass * vt;
+        double maxFriction = c.friction * c.normalImpulse;
+        double newTangent = Math.max(-maxFriction, Math.min(c.tangentImpulse + jt, maxFriction));
+        jt = newTangent - c.tangentImpulse;
+        c.tangentImpulse = newTangent;
+        update(va, -tx * jt, -ty * jt, invA);
+        update(vb, tx * jt, ty * jt, invB);
+    }
+
+    private void correctPosition(Contact c) {
+        double invA = c.a.getInverseMass();
+        double invB = c.b.getInverseMass();
+        double correction = Math.max(c.penetration - SLOP, 0.0) * CORRECTION_PERCENT / (invA + invB);
+        if (correction > 0) {
+            Vector2d pa = c.a.getPosition();
+            Vector2d pb = c.b.getPosition();
+            if (invA != 0.0) {
+                c.a.setPosition(pa.set(pa.x - c.nx * correction * invA, pa.y - c.ny * correction * invA));
+            }
+            if (invB != 0.0) {
+                c.b.setPosition(pb.set(pb.x + c.nx * correction * invB, pb.y + c.ny * correction * invB));
+            }
+        }
+    }
+
+    private void evict() {
+        for (int i = 0; i < previous.size(); i++) {
+            Contact c = previous.get(i);
+            if (c.frame != frame) {
+                cache.remove(c.key);
+                c.a = null;
+                c.b = null;
+                pool.add(c);
+            }
+        }
+        previous.clear();
+    }
+
+    /**
+     * @return the list of contacts solved during the current physic step.
+     */
+    public List<Contact> getContacts() {
+        return contacts;
+    }
+
+    /**
+     * @return the number of contacts solved during the current physic step.
+     */
+    public int getContactCount() {
+        return contacts.size();
+    }
+
+    /**
+     * Set the number of velocity iterations.
+     *
+     * @param iterations the number of iterations on each step.
+     */
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * Set the number of threads solving the contacts, starting the required worker threads.
+     *
+     * @param threads the number of threads, including the calling one (0 for all the available processors).
+     */
+    public void setThreads(int threads) {
+        dispose();
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        if (this.threads > 1) {
+            stopped = false;
+            workers = new Thread[this.threads - 1];
+            startSignals = new Semaphore[workers.length];
+            for (int i = 0; i < workers.length; i++) {
+                int id = i + 1;
+                Semaphore start = new Semaphore(0);
+                startSignals[i] = start;
+                workers[i] = new Thread(() -> {
+                    while (true) {
+                        start.acquireUninterruptibly();
+                        if (stopped) {
+                            return;
+                        }
+                        work(id);
+                        doneSignal.release();
+                    }
+                }, "physic-solver-" + id);
+                workers[i].setDaemon(true);
+                workers[i].start();
+            }
+        }
+    }
+
+    /**
+     * @return the number of threads solving the contacts.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Stop the worker threads, if any.
+     */
+    public void dispose() {
+        if (workers != null) {
+            stopped = true;
+            for (Semaphore start : startSignals) {
+                start.release();
+            }
+            workers = null;
+            startSignals = null;
+        }
+        threads = 1;
+    }
+}
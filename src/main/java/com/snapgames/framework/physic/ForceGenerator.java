@@ -0,0 +1,30 @@
+package com.snapgames.framework.physic;
+
+import java.io.Serializable;
+
+import com.snapgames.framework.components.PhysicComponent;
+
+/**
+ * A {@link ForceGenerator} is a persistent force source attached to a body with a name
+ * (see {@link PhysicComponent#addForceGenerator(String, ForceGenerator)}). On each physic step,
+ * before integration, the engine calls all the generators of an awake body, which
+ * contribute to its force accumulator through {@link PhysicComponent#applyForce(double, double)}.
+ * <p>
+ * eg. usage, a constant thrust:
+ * <pre>
+ * pc.addForceGenerator("thrust", (body, elapsed) -&gt; body.applyForce(0.0, -0.0002));
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+@FunctionalInterface
+public interface ForceGenerator extends Serializable {
+    /**
+     * Apply the generated force on the body.
+     *
+     * @param pc      the {@link PhysicComponent} of the body.
+     * @param elapsed the elapsed time since previous step (in milliseconds).
+     */
+    void apply(PhysicComponent pc, double elapsed);
+}
@@ -0,0 +1,182 @@
+package com.snapgames.framework.physic;
+
+import java.util.Arrays;
+
+/**
+ * The {@link PairMap} is a small open-addressing hash map indexed on a primitive
+ * {@code long} pair key, built from the two {@link com.snapgames.framework.entities.Entity}
+ * ids of a pair of bodies (see {@link PairMap#key(long, long)}).
+ * <p>
+ * It is used by the physic engine to keep data persistent from one step to the next one
+ * (e.g. the contacts for warm-starting) without boxing keys nor allocating entries on each lookup.
+ * Removal uses backward shifting, so no tombstone is ever left in the table.
+ *
+ * @param <T> the type of the value stored for each pair.
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class PairMap<T> {
+    private static final long EMPTY = -1L;
+
+    private long[] keys;
+    private Object[] values;
+    private int size = 0;
+    private int mask;
+
+    /**
+     * Create a new {@link PairMap} with a default capacity.
+     */
+    public PairMap() {
+        this(64);
+    }
+
+    /**
+     * Create a new {@link PairMap} sized to store at least <code>capacity</code> pairs
+     * before growing.
+     *
+     * @param capacity the expected number of pairs.
+     */
+    public PairMap(int capacity) {
+        int tableSize = Integer.highestOneBit(Math.max(4, capacity * 2) - 1) << 1;
+        keys = new long[tableSize];
+        values = new Object[tableSize];
+        Arrays.fill(keys, EMPTY);
+        mask = tableSize - 1;
+    }
+
+    /**
+     * Build the unique key for a pair of ids, whatever the order of the 2 ids is.
+     *
+     * @param idA the first id
+     * @param idB the second id
+     * @return the corresponding pair key.
+     */
+    public static long key(long idA, long idB) {
+        long min = Math.min(idA, idB);
+        long max = Math.max(idA, idB);
+        return (min << 32) | (max & 0xFFFFFFFFL);
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /**
+     * Retrieve the value for the <code>key</code> pair.
+     *
+     * @param key the pair key
+     * @return the corresponding value or null if the pair is unknown.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(long key) {
+        int i = slot(key);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                return (T) values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Store (or replace) the value for the <code>key</code> pair.
+     *
+     * @param key   the pair key
+     * @param value the value to be stored.
+     */
+    public void put(long key, T value) {
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        int i = slot(key);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+    }
+
+    /**
+     * Remove the <code>key</code> pair from the map.
+     *
+     * @param key the pair key to be removed.
+     * @return the removed value, or null if the pair was unknown.
+     */
+    @SuppressWarnings("unchecked")
+    public T remove(long key) {
+        int i = slot(key);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                T old = (T) values[i];
+                shiftBack(i);
+                size--;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    private void shiftBack(int hole) {
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            if (keys[i] == EMPTY) {
+                break;
+            }
+            int home = slot(keys[i]);
+            // move the entry back if its home slot is not in the (hole, i] cyclic range.
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        keys[hole] = EMPTY;
+        values[hole] = null;
+    }
+
+    private void resize(int newSize) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[newSize];
+        values = new Object[newSize];
+        Arrays.fill(keys, EMPTY);
+        mask = newSize - 1;
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int j = slot(oldKeys[i]);
+                while (keys[j] != EMPTY) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+                size++;
+            }
+        }
+    }
+
+    /**
+     * Remove all the pairs from the map, keeping its current capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * @return the number of pairs stored in the map.
+     */
+    public int size() {
+        return size;
+    }
+}
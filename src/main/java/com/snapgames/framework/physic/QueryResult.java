@@ -0,0 +1,189 @@
+package com.snapgames.framework.physic;
+
+import java.util.Arrays;
+
+import com.snapgames.framework.entities.Entity;
+
+/**
+ * A {@link QueryResult} is a reusable buffer receiving the entities found by a query of the
+ * {@link com.snapgames.framework.services.PhysicEngineService} (raycast, area or nearest
+ * queries), with their distance to the query origin.
+ * <p>
+ * The same instance can be kept by the game code and passed to each query: it is cleared at the
+ * start of a query, and its storage only grows when more entities than ever are found.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class QueryResult {
+    private int count = 0;
+    private Entity[] entities;
+    private double[] distances;
+    /**
+     * Hit point and normal of the last raycast.
+     */
+    private double pointX, pointY, normalX, normalY;
+
+    /**
+     * Create a new {@link QueryResult} with a default capacity of 16 entities.
+     */
+    public QueryResult() {
+        this(16);
+    }
+
+    /**
+     * Create a new {@link QueryResult}.
+     *
+     * @param capacity the initial capacity of the buffer.
+     */
+    public QueryResult(int capacity) {
+        entities = new Entity[Math.max(capacity, 1)];
+        distances = new double[entities.length];
+    }
+
+    /**
+     * Remove all the entities from the buffer.
+     */
+    public void clear() {
+        Arrays.fill(entities, 0, count, null);
+        count = 0;
+    }
+
+    /**
+     * Append an entity to the buffer.
+     *
+     * @param e        the found {@link Entity}.
+     * @param distance its distance to the query origin.
+     */
+    public void add(Entity e, double distance) {
+        if (count == entities.length) {
+            entities = Arrays.copyOf(entities, count * 2);
+            distances = Arrays.copyOf(distances, count * 2);
+        }
+        entities[count] = e;
+        distances[count] = distance;
+        count++;
+    }
+
+    /**
+     * Replace the <code>i</code>th entity of the buffer.
+     *
+     * @param i        the result index
+     * @param e        the found {@link Entity}.
+     * @param distance its distance to the query origin.
+     */
+    public void set(int i, Entity e, double distance) {
+        entities[i] = e;
+        distances[i] = distance;
+    }
+
+    /**
+     * Remove the <code>i</code>th entity of the buffer, replaced by the last one.
+     *
+     * @param i the result index
+     */
+    public void remove(int i) {
+        count--;
+        entities[i] = entities[count];
+        distances[i] = distances[count];
+        entities[count] = null;
+    }
+
+    /**
+     * Sort the entities of the buffer on increasing distances (insertion sort, the buffer
+     * being usually small).
+     */
+    public void sort() {
+        for (int i = 1; i < count; i++) {
+            Entity e = entities[i];
+            double d = distances[i];
+            int j = i;
+            while (j > 0 && distances[j - 1] > d) {
+                entities[j] = entities[j - 1];
+                distances[j] = distances[j - 1];
+                j--;
+            }
+            entities[j] = e;
+            distances[j] = d;
+        }
+    }
+
+    /**
+     * Keep only the <code>max</code> first entities of the buffer.
+     *
+     * @param max the maximum number of entities to be kept.
+     */
+    public void truncate(int max) {
+        int n = Math.max(max, 0);
+        if (n < count) {
+            Arrays.fill(entities, n, count, null);
+            count = n;
+        }
+    }
+
+    /**
+     * Set the hit point and the surface normal of a raycast.
+     *
+     * @param pointX  the X position of the hit point
+     * @param pointY  the Y position of the hit point
+     * @param normalX the X component of the surface normal
+     * @param normalY the Y component of the surface normal
+     */
+    public void setHit(double pointX, double pointY, double normalX, double normalY) {
+        this.pointX = pointX;
+        this.pointY = pointY;
+        this.normalX = normalX;
+        this.normalY = normalY;
+    }
+
+    /**
+     * @return the number of entities found.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @param i the result index
+     * @return the <code>i</code>th {@link Entity} found.
+     */
+    public Entity getEntity(int i) {
+        return entities[i];
+    }
+
+    /**
+     * @param i the result index
+     * @return the distance of the <code>i</code>th {@link Entity} to the query origin.
+     */
+    public double getDistance(int i) {
+        return distances[i];
+    }
+
+    /**
+     * @return the X position of the point hit by the last raycast.
+     */
+    public double getPointX() {
+        return pointX;
+    }
+
+    /**
+     * @return the Y position of the point hit by the last raycast.
+     */
+    public double getPointY() {
+        return pointY;
+    }
+
+    /**
+     * @return the X component of the surface normal at the point hit by the last raycast.
+     */
+    public double getNormalX() {
+        return normalX;
+    }
+
+    /**
+     * @return the Y component of the surface normal at the point hit by the last raycast.
+     */
+    public double getNormalY() {
+        return normalY;
+    }
+}
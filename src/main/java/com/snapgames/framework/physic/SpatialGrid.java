@@ -0,0 +1,419 @@
+package com.snapgames.framework.physic;
+
+import java.util.Arrays;
+
+/**
+ * The {@link SpatialGrid} is the broad phase of the physic engine: a uniform grid of
+ * square cells, hashed into a fixed size bucket table, where each body is registered
+ * into all the cells its axis aligned bounding box overlaps.
+ * <p>
+ * Bodies are identified by their index (the order they have been added since the last
+ * {@link SpatialGrid#clear()}), and all the internal storage is made of primitive arrays
+ * reused from one step to the next one, so that rebuilding the grid on each physic step
+ * does not produce any garbage once the arrays reached their working size.
+ * <p>
+ * A pair of overlapping bodies is reported only once, by the cell containing the
+ * top-left corner of the intersection of their 2 bounding boxes.
+ * <p>
+ * Queries only visit the populated cells, the bounds of the registered bodies being kept by
+ * {@link SpatialGrid#build()}: an unbounded area never makes a query loop over empty cells.
+ * Besides areas, the bodies can be retrieved cell by cell ({@link SpatialGrid#queryCell(int, int)})
+ * or ring by ring around a cell ({@link SpatialGrid#queryRing(int, int, long)}), the results
+ * accumulating until the next {@link SpatialGrid#beginQuery()}.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class SpatialGrid {
+    private final double cellSize;
+    private final double invCellSize;
+
+    private int bodyCount = 0;
+    private double[] minX = new double[64];
+    private double[] minY = new double[64];
+    private double[] maxX = new double[64];
+    private double[] maxY = new double[64];
+
+    private int[] buckets = new int[256];
+    private int bucketMask = 255;
+    private int entryCount = 0;
+    private int[] entryNext = new int[256];
+    private int[] entryBody = new int[256];
+    private int[] entryCellX = new int[256];
+    private int[] entryCellY = new int[256];
+
+    private int minCellX = Integer.MAX_VALUE;
+    private int minCellY = Integer.MAX_VALUE;
+    private int maxCellX = Integer.MIN_VALUE;
+    private int maxCellY = Integer.MIN_VALUE;
+
+    private int queryStamp = 0;
+    private int[] bodyStamp = new int[64];
+    private int queryCount = 0;
+    private int[] queryResult = new int[64];
+
+    private int pairCount = 0;
+    private int[] pairA = new int[256];
+    private int[] pairB = new int[256];
+
+    /**
+     * Create a new {@link SpatialGrid} with square cells of <code>cellSize</code> pixels.
+     *
+     * @param cellSize the size of a cell side.
+     */
+    public SpatialGrid(double cellSize) {
+        this.cellSize = cellSize;
+        this.invCellSize = 1.0 / cellSize;
+    }
+
+    /**
+     * Remove all bodies from the grid, keeping the allocated storage.
+     */
+    public void clear() {
+        bodyCount = 0;
+        entryCount = 0;
+        pairCount = 0;
+        queryCount = 0;
+        resetBounds();
+    }
+
+    private void resetBounds() {
+        minCellX = Integer.MAX_VALUE;
+        minCellY = Integer.MAX_VALUE;
+        maxCellX = Integer.MIN_VALUE;
+        maxCellY = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Add a body bounding box to the grid.
+     *
+     * @param x the left position of the bounding box
+     * @param y the top position of the bounding box
+     * @param w the width of the bounding box
+     * @param h the height of the bounding box
+     * @return the index of the body into this grid.
+     */
+    public int add(double x, double y, double w, double h) {
+        if (bodyCount == minX.length) {
+            int n = bodyCount * 2;
+            minX = Arrays.copyOf(minX, n);
+            minY = Arrays.copyOf(minY, n);
+            maxX = Arrays.copyOf(maxX, n);
+            maxY = Arrays.copyOf(maxY, n);
+        }
+        minX[bodyCount] = x;
+        minY[bodyCount] = y;
+        maxX[bodyCount] = x + w;
+        maxY[bodyCount] = y + h;
+        return bodyCount++;
+    }
+
+    /**
+     * Reserve an index for a body not taking part in the broad phase: it is not registered into
+     * any cell, and is never part of a pair or of a query result.
+     *
+     * @return the index of the body into this grid.
+     */
+    public int skip() {
+        int b = add(0, 0, 0, 0);
+        // an empty box: min greater than max never overlaps anything.
+        minX[b] = Double.POSITIVE_INFINITY;
+        minY[b] = Double.POSITIVE_INFINITY;
+        maxX[b] = Double.NEGATIVE_INFINITY;
+        maxY[b] = Double.NEGATIVE_INFINITY;
+        return b;
+    }
+
+    /**
+     * Register all the added bodies into the cells they overlap. Must be called
+     * once all the bodies have been added and before any pair or query request.
+     */
+    public void build() {
+        entryCount = 0;
+        int needed = 0;
+        for (int b = 0; b < bodyCount; b++) {
+            if (minX[b] <= maxX[b]) {
+                needed += (cell(maxX[b]) - cell(minX[b]) + 1) * (cell(maxY[b]) - cell(minY[b]) + 1);
+            }
+        }
+        if (needed > entryNext.length) {
+            int n = Integer.highestOneBit(needed) << 1;
+            entryNext = new int[n];
+            entryBody = new int[n];
+            entryCellX = new int[n];
+            entryCellY = new int[n];
+        }
+        if (needed * 2 > buckets.length) {
+            buckets = new int[Integer.highestOneBit(needed) << 2];
+            bucketMask = buckets.length - 1;
+        }
+        Arrays.fill(buckets, -1);
+        resetBounds();
+        for (int b = 0; b < bodyCount; b++) {
+            if (minX[b] > maxX[b]) {
+                // skipped body.
+                continue;
+            }
+            int cx0 = cell(minX[b]), cx1 = cell(maxX[b]);
+            int cy0 = cell(minY[b]), cy1 = cell(maxY[b]);
+            minCellX = Math.min(minCellX, cx0);
+            minCellY = Math.min(minCellY, cy0);
+            maxCellX = Math.max(maxCellX, cx1);
+            maxCellY = Math.max(maxCellY, cy1);
+            for (int cy = cy0; cy <= cy1; cy++) {
+                for (int cx = cx0; cx <= cx1; cx++) {
+                    int h = hash(cx, cy);
+                    entryBody[entryCount] = b;
+                    entryCellX[entryCount] = cx;
+                    entryCellY[entryCount] = cy;
+                    entryNext[entryCount] = buckets[h];
+                    buckets[h] = entryCount;
+                    entryCount++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Compute all the pairs of bodies having overlapping bounding boxes.
+     *
+     * @return the number of pairs found.
+     */
+    public int findPairs() {
+        pairCount = 0;
+        for (int h = 0; h < buckets.length; h++) {
+            for (int e1 = buckets[h]; e1 != -1; e1 = entryNext[e1]) {
+                int cx = entryCellX[e1], cy = entryCellY[e1];
+                int a = entryBody[e1];
+                for (int e2 = entryNext[e1]; e2 != -1; e2 = entryNext[e2]) {
+                    if (entryCellX[e2] != cx || entryCellY[e2] != cy) {
+                        continue;
+                    }
+                    int b = entryBody[e2];
+                    if (overlaps(a, b)
+                            && cell(Math.max(minX[a], minX[b])) == cx
+                            && cell(Math.max(minY[a], minY[b])) == cy) {
+                        addPair(a, b);
+                    }
+                }
+            }
+        }
+        return pairCount;
+    }
+
+    private void addPair(int a, int b) {
+        if (pairCount == pairA.length) {
+            pairA = Arrays.copyOf(pairA, pairCount * 2);
+            pairB = Arrays.copyOf(pairB, pairCount * 2);
+        }
+        pairA[pairCount] = a;
+        pairB[pairCount] = b;
+        pairCount++;
+    }
+
+    private boolean overlaps(int a, int b) {
+        return minX[a] <= maxX[b] && maxX[a] >= minX[b]
+                && minY[a] <= maxY[b] && maxY[a] >= minY[b];
+    }
+
+    private int cell(double v) {
+        return (int) Math.floor(v * invCellSize);
+    }
+
+    private int hash(int cx, int cy) {
+        return ((cx * 73856093) ^ (cy * 19349663)) & bucketMask;
+    }
+
+    /**
+     * Retrieve all the bodies whose bounding box overlaps the given area. Results are
+     * available through {@link SpatialGrid#getQueryResult(int)} until the next query.
+     *
+     * @param x0 the left of the area
+     * @param y0 the top of the area
+     * @param x1 the right of the area
+     * @param y1 the bottom of the area
+     * @return the number of bodies found.
+     */
+    public int query(double x0, double y0, double x1, double y1) {
+        beginQuery();
+        // only the populated cells: an unbounded area would saturate the cell coordinates.
+        int cx0 = Math.max(cell(x0), minCellX), cx1 = Math.min(cell(x1), maxCellX);
+        int cy0 = Math.max(cell(y0), minCellY), cy1 = Math.min(cell(y1), maxCellY);
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) {
+                collect(cx, cy, x0, y0, x1, y1);
+            }
+        }
+        return queryCount;
+    }
+
+    /**
+     * Start a new query, emptying the result of the previous one. The following
+     * {@link SpatialGrid#queryCell(int, int)} and {@link SpatialGrid#queryRing(int, int, long)}
+     * calls append their bodies to this new query result, each body being reported once.
+     */
+    public void beginQuery() {
+        queryCount = 0;
+        if (bodyStamp.length < bodyCount) {
+            bodyStamp = new int[minX.length];
+        }
+        if (++queryStamp == Integer.MAX_VALUE) {
+            Arrays.fill(bodyStamp, 0);
+            queryStamp = 1;
+        }
+    }
+
+    /**
+     * Append to the current query result the bodies registered into a cell.
+     *
+     * @param cx the X coordinate of the cell
+     * @param cy the Y coordinate of the cell
+     * @return the number of bodies in the query result.
+     */
+    public int queryCell(int cx, int cy) {
+        if (cx >= minCellX && cx <= maxCellX && cy >= minCellY && cy <= maxCellY) {
+            collect(cx, cy, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                    Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+        }
+        return queryCount;
+    }
+
+    /**
+     * Append to the current query result the bodies registered into the populated cells of a ring:
+     * the cells at <code>r</code> cells (horizontally or vertically) from the center cell.
+     *
+     * @param cx the X coordinate of the center cell
+     * @param cy the Y coordinate of the center cell
+     * @param r  the ring radius, 0 being the center cell itself
+     * @return the number of bodies in the query result.
+     */
+    public int queryRing(int cx, int cy, long r) {
+        long left = cx - r, right = cx + r, top = cy - r, bottom = cy + r;
+        int x0 = (int) Math.max(left, minCellX), x1 = (int) Math.min(right, maxCellX);
+        int y0 = (int) Math.max(top + 1, minCellY), y1 = (int) Math.min(bottom - 1, maxCellY);
+        if (top >= minCellY && top <= maxCellY) {
+            for (int x = x0; x <= x1; x++) {
+                queryCell(x, (int) top);
+            }
+        }
+        if (r > 0 && bottom >= minCellY && bottom <= maxCellY) {
+            for (int x = x0; x <= x1; x++) {
+                queryCell(x, (int) bottom);
+            }
+        }
+        if (left >= minCellX && left <= maxCellX) {
+            for (int y = y0; y <= y1; y++) {
+                queryCell((int) left, y);
+            }
+        }
+        if (r > 0 && right >= minCellX && right <= maxCellX) {
+            for (int y = y0; y <= y1; y++) {
+                queryCell((int) right, y);
+            }
+        }
+        return queryCount;
+    }
+
+    private void collect(int cx, int cy, double x0, double y0, double x1, double y1) {
+        for (int e = buckets[hash(cx, cy)]; e != -1; e = entryNext[e]) {
+            int b = entryBody[e];
+            if (bodyStamp[b] != queryStamp
+                    && entryCellX[e] == cx && entryCellY[e] == cy
+                    && minX[b] <= x1 && maxX[b] >= x0 && minY[b] <= y1 && maxY[b] >= y0) {
+                bodyStamp[b] = queryStamp;
+                if (queryCount == queryResult.length) {
+                    queryResult = Arrays.copyOf(queryResult, queryCount * 2);
+                }
+                queryResult[queryCount++] = b;
+            }
+        }
+    }
+
+    /**
+     * @param v a position, on any axis
+     * @return the coordinate of the cell containing the position.
+     */
+    public int getCell(double v) {
+        return cell(v);
+    }
+
+    /**
+     * @return true if no body is registered into the grid cells.
+     */
+    public boolean isEmpty() {
+        return minCellX > maxCellX;
+    }
+
+    /**
+     * @return the X coordinate of the leftmost populated cell.
+     */
+    public int getMinCellX() {
+        return minCellX;
+    }
+
+    /**
+     * @return the Y coordinate of the topmost populated cell.
+     */
+    public int getMinCellY() {
+        return minCellY;
+    }
+
+    /**
+     * @return the X coordinate of the rightmost populated cell.
+     */
+    public int getMaxCellX() {
+        return maxCellX;
+    }
+
+    /**
+     * @return the Y coordinate of the bottommost populated cell.
+     */
+    public int getMaxCellY() {
+        return maxCellY;
+    }
+
+    /**
+     * @param i the result index
+     * @return the body index of the <code>i</code>th result of the last query.
+     */
+    public int getQueryResult(int i) {
+        return queryResult[i];
+    }
+
+    /**
+     * @return the number of pairs computed by the last {@link SpatialGrid#findPairs()} call.
+     */
+    public int getPairCount() {
+        return pairCount;
+    }
+
+    /**
+     * @param i the pair index
+     * @return the first body index of the <code>i</code>th pair.
+     */
+    public int getPairA(int i) {
+        return pairA[i];
+    }
+
+    /**
+     * @param i the pair index
+     * @return the second body index of the <code>i</code>th pair.
+     */
+    public int getPairB(int i) {
+        return pairB[i];
+    }
+
+    /**
+     * @return the number of bodies in the grid.
+     */
+    public int getBodyCount() {
+        return bodyCount;
+    }
+
+    /**
+     * @return the size of a cell side.
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+}
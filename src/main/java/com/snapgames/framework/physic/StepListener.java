@@ -0,0 +1,25 @@
+package com.snapgames.framework.physic;
+
+import com.snapgames.framework.App;
+
+/**
+ * A {@link StepListener} is called at the start of each physic step, before the bodies are
+ * updated (see {@link com.snapgames.framework.services.PhysicEngineService#addStepListener(StepListener)}).
+ * <p>
+ * In deterministic mode, the game code applies its inputs to the bodies from such a listener, so
+ * that the same inputs are always applied on the same step, whatever the frame rate.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+@FunctionalInterface
+public interface StepListener {
+    /**
+     * Called at the start of a physic step.
+     *
+     * @param app     the parent {@link App} instance.
+     * @param step    the index of the step.
+     * @param elapsed the time simulated by the step (in milliseconds).
+     */
+    void onStep(App app, long step, double elapsed);
+}
@@ -0,0 +1,22 @@
+package com.snapgames.framework.physic;
+
+/**
+ * The type of a trigger event (see {@link TriggerEvents}).
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public enum TriggerEventType {
+    /**
+     * A body started to overlap the trigger during the last physic step.
+     */
+    ENTER,
+    /**
+     * A body keeps overlapping the trigger.
+     */
+    STAY,
+    /**
+     * A body stopped to overlap the trigger during the last physic step.
+     */
+    EXIT
+}
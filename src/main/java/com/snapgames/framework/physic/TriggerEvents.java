@@ -0,0 +1,105 @@
+package com.snapgames.framework.physic;
+
+import java.util.Arrays;
+
+import com.snapgames.framework.entities.Entity;
+
+/**
+ * The {@link TriggerEvents} buffer gathers the trigger events of the physic steps simulated since
+ * the game last consumed them: for each event, its {@link TriggerEventType}, the trigger
+ * {@link Entity}, the other {@link Entity} entering, staying into or leaving the trigger, and the
+ * index of the physic step.
+ * <p>
+ * The buffer is filled on each physic step by the {@link TriggerTracker}, and read by the game
+ * code in the {@link com.snapgames.framework.scenes.Scene#update(com.snapgames.framework.App)}, no
+ * callback being called per event: when several steps are simulated during a frame, the events of
+ * all of them are read in their order. Its storage is reused from one frame to the next one.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class TriggerEvents {
+    private int count = 0;
+    private TriggerEventType[] types = new TriggerEventType[64];
+    private Entity[] triggers = new Entity[64];
+    private Entity[] others = new Entity[64];
+    private long[] steps = new long[64];
+
+    /**
+     * Create a new empty {@link TriggerEvents} buffer.
+     */
+    public TriggerEvents() {
+        // arrays grow on demand.
+    }
+
+    /**
+     * Remove all the events from the buffer.
+     */
+    public void clear() {
+        Arrays.fill(triggers, 0, count, null);
+        Arrays.fill(others, 0, count, null);
+        count = 0;
+    }
+
+    /**
+     * Append an event to the buffer.
+     *
+     * @param type    the type of event
+     * @param trigger the trigger {@link Entity}
+     * @param other   the {@link Entity} overlapping the trigger.
+     * @param step    the index of the physic step of the event.
+     */
+    public void add(TriggerEventType type, Entity trigger, Entity other, long step) {
+        if (count == types.length) {
+            int n = count * 2;
+            types = Arrays.copyOf(types, n);
+            triggers = Arrays.copyOf(triggers, n);
+            others = Arrays.copyOf(others, n);
+            steps = Arrays.copyOf(steps, n);
+        }
+        types[count] = type;
+        triggers[count] = trigger;
+        others[count] = other;
+        steps[count] = step;
+        count++;
+    }
+
+    /**
+     * @return the number of events in the buffer.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @param i the event index
+     * @return the type of the <code>i</code>th event.
+     */
+    public TriggerEventType getType(int i) {
+        return types[i];
+    }
+
+    /**
+     * @param i the event index
+     * @return the trigger {@link Entity} of the <code>i</code>th event.
+     */
+    public Entity getTrigger(int i) {
+        return triggers[i];
+    }
+
+    /**
+     * @param i the event index
+     * @return the {@link Entity} overlapping the trigger for the <code>i</code>th event.
+     */
+    public Entity getOther(int i) {
+        return others[i];
+    }
+
+    /**
+     * @param i the event index
+     * @return the index of the physic step of the <code>i</code>th event.
+     */
+    public long getStep(int i) {
+        return steps[i];
+    }
+}
@@ -0,0 +1,151 @@
+package com.snapgames.framework.physic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.snapgames.framework.components.PhysicComponent;
+import com.snapgames.framework.entities.Entity;
+
+/**
+ * The {@link TriggerTracker} follows the overlaps between trigger bodies (see
+ * {@link PhysicComponent#isTrigger()}) and the other bodies, with a persistent pair cache
+ * indexed on the pair of entity ids.
+ * <p>
+ * On each physic step, the overlapping pairs found by the broad phase are reported through
+ * {@link TriggerTracker#overlap(Entity, PhysicComponent, Entity, PhysicComponent)}: a pair not in
+ * the cache emits an {@link TriggerEventType#ENTER} event, a cached one a {@link TriggerEventType#STAY}
+ * event. At the end of the step, the cached pairs not reported anymore emit an
+ * {@link TriggerEventType#EXIT} event and are recycled. The cost only depends on the number of
+ * overlapping pairs, whatever the number of triggers.
+ * <p>
+ * The events are not cleared by a new step: they accumulate until the game has consumed them
+ * (see {@link TriggerTracker#clearEvents()}), so that the events of all the steps simulated
+ * during a frame are kept, each one with the index of its step.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class TriggerTracker {
+
+    /**
+     * A cached overlap between a trigger and another body.
+     */
+    private static class TriggerPair {
+        long key;
+        Entity trigger;
+        Entity other;
+        PhysicComponent triggerPC;
+        PhysicComponent otherPC;
+        long frame;
+    }
+
+    private long frame = -1;
+    private final PairMap<TriggerPair> cache = new PairMap<>(64);
+    private final List<TriggerPair> pairs = new ArrayList<>();
+    private final List<TriggerPair> pool = new ArrayList<>();
+    private final TriggerEvents events = new TriggerEvents();
+    private final Contact scratch = new Contact();
+
+    /**
+     * Create a new {@link TriggerTracker}.
+     */
+    public TriggerTracker() {
+        // nothing specific.
+    }
+
+    /**
+     * Start a new physic step.
+     *
+     * @param step the index of the physic step, increasing from one step to the next one.
+     */
+    public void begin(long step) {
+        frame = step;
+    }
+
+    /**
+     * Remove the events consumed by the game.
+     */
+    public void clearEvents() {
+        events.clear();
+    }
+
+    /**
+     * Report a pair of bodies found by the broad phase, at least one of them being a trigger.
+     * The shapes are checked by the narrow phase, no physical response being computed.
+     *
+     * @param ea the first {@link Entity}
+     * @param a  its {@link PhysicComponent}
+     * @param eb the second {@link Entity}
+     * @param b  its {@link PhysicComponent}
+     */
+    public void overlap(Entity ea, PhysicComponent a, Entity eb, PhysicComponent b) {
+        if (a.isTrigger() == b.isTrigger()
+                || !Collisions.canCollide(a, b)
+                || !Collisions.collide(a, b, scratch)) {
+            return;
+        }
+        long key = PairMap.key(ea.getId(), eb.getId());
+        TriggerPair p = cache.get(key);
+        if (p == null) {
+            p = pool.isEmpty() ? new TriggerPair() : pool.remove(pool.size() - 1);
+            p.key = key;
+            boolean aTrigger = a.isTrigger();
+            p.trigger = aTrigger ? ea : eb;
+            p.triggerPC = aTrigger ? a : b;
+            p.other = aTrigger ? eb : ea;
+            p.otherPC = aTrigger ? b : a;
+            cache.put(key, p);
+            pairs.add(p);
+            events.add(TriggerEventType.ENTER, p.trigger, p.other, frame);
+        } else if (p.frame != frame) {
+            events.add(TriggerEventType.STAY, p.trigger, p.other, frame);
+        }
+        p.frame = frame;
+    }
+
+    /**
+     * End the physic step: the cached pairs not reported during the step emit an exit event,
+     * unless both bodies are at rest (sleeping or static), as such pairs are not checked anymore.
+     */
+    public void end() {
+        for (int i = pairs.size() - 1; i >= 0; i--) {
+            TriggerPair p = pairs.get(i);
+            if (p.frame == frame) {
+                continue;
+            }
+            if (atRest(p.triggerPC) && atRest(p.otherPC)) {
+                p.frame = frame;
+                events.add(TriggerEventType.STAY, p.trigger, p.other, frame);
+                continue;
+            }
+            events.add(TriggerEventType.EXIT, p.trigger, p.other, frame);
+            cache.remove(p.key);
+            int last = pairs.size() - 1;
+            pairs.set(i, pairs.get(last));
+            pairs.remove(last);
+            p.trigger = null;
+            p.other = null;
+            p.triggerPC = null;
+            p.otherPC = null;
+            pool.add(p);
+        }
+    }
+
+    private static boolean atRest(PhysicComponent pc) {
+        return pc.isSleeping() || pc.getInverseMass() == 0.0;
+    }
+
+    /**
+     * @return the trigger events of the physic steps since the last {@link TriggerTracker#clearEvents()}.
+     */
+    public TriggerEvents getEvents() {
+        return events;
+    }
+
+    /**
+     * @return the number of bodies currently overlapping a trigger.
+     */
+    public int getOverlapCount() {
+        return pairs.size();
+    }
+}
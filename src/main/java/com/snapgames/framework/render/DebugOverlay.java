@@ -0,0 +1,170 @@
+package com.snapgames.framework.render;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * The {@link DebugOverlay} draws the debug information on top of the window: the services
+ * statistics line and two sparklines of the last frame times, the time between two drawn frames
+ * and the time spent drawing the scene.
+ * <p>
+ * The overlay is rendered into its own image, only refreshed <code>app.render.debug.refresh.rate</code>
+ * times per second: on the other frames, the image is just copied to the window, so that the debug
+ * mode does not distort the frame times it shows. The frame times are recorded on every frame.
+ * <p>
+ * The overlay is only used by the thread drawing the frames.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class DebugOverlay {
+    /**
+     * The number of frame times kept, one per pixel of the sparklines.
+     */
+    public static final int HISTORY = 120;
+    private static final int GRAPH_HEIGHT = 24;
+    private static final int PADDING = 4;
+    private static final Color BACKGROUND = new Color(0, 0, 0, 128);
+
+    private final long refreshPeriod;
+    private final double targetFrameTime;
+
+    private final float[] frameTimes = new float[HISTORY];
+    private final float[] drawTimes = new float[HISTORY];
+    private int next = 0;
+    private int count = 0;
+    private long previousStart = 0;
+
+    private BufferedImage image;
+    private long nextRefresh = 0;
+    private long nbRefreshes = 0;
+
+    /**
+     * Create a new {@link DebugOverlay}.
+     *
+     * @param refreshRate     the number of refreshes of the overlay per second.
+     * @param targetFrameTime the expected time between two frames (in ms), shown on the sparklines.
+     */
+    public DebugOverlay(double refreshRate, double targetFrameTime) {
+        this.refreshPeriod = (long) (1_000_000_000L / Math.max(refreshRate, 0.1));
+        this.targetFrameTime = targetFrameTime;
+    }
+
+    /**
+     * Record the times of a drawn frame.
+     *
+     * @param start    the time the drawing of the frame started (in ns, see {@link System#nanoTime()}).
+     * @param drawTime the time spent drawing the frame (in ns).
+     */
+    public void addSample(long start, long drawTime) {
+        long frameTime = previousStart != 0 ? start - previousStart : drawTime;
+        previousStart = start;
+        frameTimes[next] = frameTime / 1_000_000f;
+        drawTimes[next] = drawTime / 1_000_000f;
+        next = (next + 1) % HISTORY;
+        count = Math.min(count + 1, HISTORY);
+    }
+
+    /**
+     * Draw the overlay, refreshing its image first if it is outdated.
+     *
+     * @param g      the graphics of the window.
+     * @param gconf  the configuration the image is made compatible with (may be null).
+     * @param x      the left position of the overlay.
+     * @param bottom the bottom position of the overlay.
+     * @param width  the width of the overlay.
+     * @param stats  the services statistics line (may be null).
+     */
+    public void draw(Graphics2D g, GraphicsConfiguration gconf, int x, int bottom, int width, String stats) {
+        long now = System.nanoTime();
+        if (image == null || image.getWidth() != width) {
+            create(g, gconf, width);
+            nextRefresh = now;
+        }
+        if (now - nextRefresh >= 0) {
+            refresh(stats);
+            nextRefresh = now + refreshPeriod;
+        }
+        g.drawImage(image, x, bottom - image.getHeight(), null);
+    }
+
+    private void create(Graphics2D g, GraphicsConfiguration gconf, int width) {
+        if (image != null) {
+            image.flush();
+        }
+        FontMetrics fm = g.getFontMetrics();
+        int height = PADDING + GRAPH_HEIGHT + PADDING + fm.getHeight() + PADDING;
+        image = gconf != null
+                ? gconf.createCompatibleImage(Math.max(width, 1), height, Transparency.TRANSLUCENT)
+                : new BufferedImage(Math.max(width, 1), height, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    private void refresh(String stats) {
+        Graphics2D g = image.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, image.getWidth(), image.getHeight());
+        g.setComposite(AlphaComposite.SrcOver);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        FontMetrics fm = g.getFontMetrics();
+
+        int x = PADDING;
+        x = drawSparkline(g, fm, x, "frame", frameTimes, Color.GREEN);
+        drawSparkline(g, fm, x + PADDING * 2, "draw", drawTimes, Color.CYAN);
+        if (stats != null) {
+            g.setColor(Color.ORANGE);
+            g.drawString(stats, PADDING, image.getHeight() - PADDING - fm.getDescent());
+        }
+        g.dispose();
+        nbRefreshes++;
+    }
+
+    /**
+     * Draw the sparkline of a frame times history, followed by its last, max and average values.
+     *
+     * @return the right position of the sparkline label.
+     */
+    private int drawSparkline(Graphics2D g, FontMetrics fm, int x, String name, float[] times, Color color) {
+        float max = 0, sum = 0;
+        for (int i = 0; i < count; i++) {
+            max = Math.max(max, times[i]);
+            sum += times[i];
+        }
+        // the scale always shows the expected frame time.
+        double scale = GRAPH_HEIGHT / Math.max(max, targetFrameTime * 2);
+        g.setColor(BACKGROUND);
+        g.fillRect(x, PADDING, HISTORY, GRAPH_HEIGHT);
+        g.setColor(Color.DARK_GRAY);
+        int targetY = PADDING + GRAPH_HEIGHT - (int) Math.round(targetFrameTime * scale);
+        g.drawLine(x, targetY, x + HISTORY - 1, targetY);
+        g.setColor(color);
+        int bottom = PADDING + GRAPH_HEIGHT - 1;
+        for (int i = 0; i < count; i++) {
+            // the oldest sample on the left.
+            float t = times[(next - count + i + HISTORY) % HISTORY];
+            int h = (int) Math.min(GRAPH_HEIGHT, Math.round(t * scale));
+            if (h > 0) {
+                int sx = x + HISTORY - count + i;
+                g.drawLine(sx, bottom, sx, bottom - h + 1);
+            }
+        }
+        float last = count > 0 ? times[(next - 1 + HISTORY) % HISTORY] : 0;
+        String label = String.format("%s %.1f/%.1f ms (avg %.1f)", name, last, max, count > 0 ? sum / count : 0);
+        g.setColor(color);
+        int labelX = x + HISTORY + PADDING;
+        g.drawString(label, labelX, PADDING + (GRAPH_HEIGHT + fm.getAscent()) / 2);
+        return labelX + fm.stringWidth(label);
+    }
+
+    /**
+     * @return the number of refreshes of the overlay image since its creation.
+     */
+    public long getRefreshCount() {
+        return nbRefreshes;
+    }
+}
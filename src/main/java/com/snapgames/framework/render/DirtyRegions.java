@@ -0,0 +1,241 @@
+package com.snapgames.framework.render;
+
+import com.snapgames.framework.physic.PairMap;
+
+/**
+ * The {@link DirtyRegions} finds the parts of the rendering buffer to be drawn again, by comparing
+ * a captured frame with the previously drawn one.
+ * <p>
+ * The items of both frames are matched on their entity id: the bounds of an item which appeared,
+ * disappeared or changed (see {@link RenderItem#sameAs(RenderItem)}), before and after its change,
+ * are added to the dirty regions, overlapping regions being merged. Only these regions are then
+ * cleared and drawn again, clipped, with all the items intersecting them.
+ * <p>
+ * The whole buffer is drawn again when the camera moved, the debug level changed, the buffer content
+ * was lost, there are more than {@link #MAX_REGIONS} regions, or the dirty regions cover more than
+ * <code>app.render.dirty.threshold</code> of the buffer.
+ * <p>
+ * The regions are only used by the thread drawing the frames.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class DirtyRegions {
+    /**
+     * The max number of regions drawn separately.
+     */
+    public static final int MAX_REGIONS = 16;
+    /**
+     * The margin (in pixels) added around the item bounds, for the antialiasing and the strokes.
+     */
+    private static final int MARGIN = 2;
+
+    private final int width;
+    private final int height;
+    private final double threshold;
+
+    private RenderFrame previous = new RenderFrame();
+    private RenderFrame current = new RenderFrame();
+    private PairMap<RenderItem> previousItems = new PairMap<>(256);
+    private PairMap<RenderItem> currentItems = new PairMap<>(256);
+    private boolean drawn = false;
+
+    private final int[] x0 = new int[MAX_REGIONS + 1];
+    private final int[] y0 = new int[MAX_REGIONS + 1];
+    private final int[] x1 = new int[MAX_REGIONS + 1];
+    private final int[] y1 = new int[MAX_REGIONS + 1];
+    private int count = 0;
+    private boolean full = true;
+    private double ratio = 1.0;
+
+    /**
+     * Create a new {@link DirtyRegions}.
+     *
+     * @param width     the width of the rendering buffer.
+     * @param height    the height of the rendering buffer.
+     * @param threshold the ratio of the buffer area over which the whole buffer is drawn again.
+     */
+    public DirtyRegions(int width, int height, double threshold) {
+        this.width = width;
+        this.height = height;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Compare a frame to the previously drawn one, and keep it as the new previous frame.
+     *
+     * @param rf    the {@link RenderFrame} to be drawn.
+     * @param valid false if the content of the rendering buffer was lost.
+     * @return true if the whole buffer must be drawn again.
+     */
+    public boolean update(RenderFrame rf, boolean valid) {
+        count = 0;
+        full = !valid || !drawn
+                || rf.hasCamera != previous.hasCamera || rf.cameraX != previous.cameraX || rf.cameraY != previous.cameraY
+                || rf.debugLevel != previous.debugLevel;
+
+        current.clear();
+        currentItems.clear();
+        for (int i = 0; i < rf.size(); i++) {
+            RenderItem item = current.next().copy(rf.get(i));
+            currentItems.put(item.id, item);
+            if (!full) {
+                RenderItem before = previousItems.get(item.id);
+                if (before == null || !before.sameAs(item)) {
+                    add(item, rf);
+                    if (before != null) {
+                        add(before, rf);
+                    }
+                }
+            }
+        }
+        for (int i = 0; !full && i < previous.size(); i++) {
+            RenderItem before = previous.get(i);
+            if (currentItems.get(before.id) == null) {
+                add(before, rf);
+            }
+        }
+        current.hasCamera = rf.hasCamera;
+        current.cameraX = rf.cameraX;
+        current.cameraY = rf.cameraY;
+        current.debugLevel = rf.debugLevel;
+
+        RenderFrame f = previous;
+        previous = current;
+        current = f;
+        PairMap<RenderItem> m = previousItems;
+        previousItems = currentItems;
+        currentItems = m;
+        drawn = true;
+
+        ratio = 1.0;
+        if (!full) {
+            long area = 0;
+            for (int r = 0; r < count; r++) {
+                area += (long) (x1[r] - x0[r]) * (y1[r] - y0[r]);
+            }
+            ratio = (double) area / ((double) width * height);
+            full = ratio > threshold;
+        }
+        if (full) {
+            count = 0;
+            ratio = 1.0;
+        }
+        return full;
+    }
+
+    /**
+     * Add the bounds of an item to the dirty regions, merging the overlapping regions.
+     */
+    private void add(RenderItem item, RenderFrame rf) {
+        if (full) {
+            return;
+        }
+        if (item.grid) {
+            // a grid covers the whole world.
+            full = true;
+            return;
+        }
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        if (item.shapeType != RenderItem.ShapeType.NONE) {
+            minX = item.x;
+            minY = item.y;
+            maxX = item.x + item.width;
+            maxY = item.y + item.height;
+        }
+        if (item.glyphs != null) {
+            // the glyphs are drawn on the baseline, their descent below it.
+            minX = Math.min(minX, item.textX);
+            minY = Math.min(minY, item.textY - item.textHeight);
+            maxX = Math.max(maxX, item.textX + item.textWidth);
+            maxY = Math.max(maxY, item.textY + item.textHeight * 0.5);
+        }
+        if (minX > maxX) {
+            return;
+        }
+        double offsetX = !item.stickToViewport && rf.hasCamera ? rf.cameraX : 0;
+        double offsetY = !item.stickToViewport && rf.hasCamera ? rf.cameraY : 0;
+        int rx0 = Math.max(0, (int) Math.floor(minX - offsetX) - MARGIN);
+        int ry0 = Math.max(0, (int) Math.floor(minY - offsetY) - MARGIN);
+        int rx1 = Math.min(width, (int) Math.ceil(maxX - offsetX) + MARGIN);
+        int ry1 = Math.min(height, (int) Math.ceil(maxY - offsetY) + MARGIN);
+        if (rx0 >= rx1 || ry0 >= ry1) {
+            return;
+        }
+        // merge with the overlapping regions, until none overlaps.
+        for (int r = 0; r < count; r++) {
+            if (rx0 <= x1[r] && x0[r] <= rx1 && ry0 <= y1[r] && y0[r] <= ry1) {
+                rx0 = Math.min(rx0, x0[r]);
+                ry0 = Math.min(ry0, y0[r]);
+                rx1 = Math.max(rx1, x1[r]);
+                ry1 = Math.max(ry1, y1[r]);
+                count--;
+                x0[r] = x0[count];
+                y0[r] = y0[count];
+                x1[r] = x1[count];
+                y1[r] = y1[count];
+                r = -1;
+            }
+        }
+        x0[count] = rx0;
+        y0[count] = ry0;
+        x1[count] = rx1;
+        y1[count] = ry1;
+        count++;
+        if (count > MAX_REGIONS) {
+            full = true;
+        }
+    }
+
+    /**
+     * Test if an item intersects a dirty region.
+     *
+     * @param item    the item to be tested.
+     * @param region  the index of the region.
+     * @param offsetX the left position of the viewport in the item coordinates.
+     * @param offsetY the top position of the viewport in the item coordinates.
+     * @return true if the item must be drawn again in this region.
+     */
+    public boolean intersects(RenderItem item, int region, double offsetX, double offsetY) {
+        return item.intersects(x0[region] + offsetX - MARGIN, y0[region] + offsetY - MARGIN,
+                x1[region] + offsetX + MARGIN, y1[region] + offsetY + MARGIN);
+    }
+
+    /**
+     * @return true if the whole buffer must be drawn again.
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    /**
+     * @return the ratio of the buffer area drawn again for the last frame.
+     */
+    public double getRatio() {
+        return ratio;
+    }
+
+    /**
+     * @return the number of dirty regions.
+     */
+    public int size() {
+        return count;
+    }
+
+    public int getX(int region) {
+        return x0[region];
+    }
+
+    public int getY(int region) {
+        return y0[region];
+    }
+
+    public int getWidth(int region) {
+        return x1[region] - x0[region];
+    }
+
+    public int getHeight(int region) {
+        return y1[region] - y0[region];
+    }
+}
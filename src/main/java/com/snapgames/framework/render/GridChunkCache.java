@@ -0,0 +1,208 @@
+package com.snapgames.framework.render;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@link GridChunkCache} draws the grids captured from the
+ * {@link com.snapgames.framework.components.GridComponent} with a few image copies instead of one
+ * rectangle per row and per column.
+ * <p>
+ * The world is divided into square chunks of <code>app.render.grid.chunk.size</code> pixels. The
+ * lines of a grid are rendered once into one transparent image per chunk, on the first frame the
+ * chunk is visible, then only the chunks intersecting the viewport are copied on each frame. A grid
+ * whose position, size, tiles or color changes is a new grid: its chunks are rendered again, and the
+ * chunks of a grid not drawn during a full frame are released at its end. The frames only
+ * redrawing some regions of the window do not call {@link GridChunkCache#begin()} and
+ * {@link GridChunkCache#end()}: the grids out of these regions are not drawn, but still visible.
+ * <p>
+ * The cache is only used by the thread drawing the frames.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class GridChunkCache {
+
+    /**
+     * The chunk images of one grid, covering the bounds of its lines.
+     */
+    private static class GridLayer {
+        final double gridX, gridY, gridWidth, gridHeight;
+        final int tileWidth, tileHeight;
+        final Color color;
+        final int firstCol, firstRow, cols, rows;
+        final BufferedImage[] chunks;
+        boolean used = true;
+
+        GridLayer(RenderItem item, int chunkSize) {
+            gridX = item.gridX;
+            gridY = item.gridY;
+            gridWidth = item.gridWidth;
+            gridHeight = item.gridHeight;
+            tileWidth = item.tileWidth;
+            tileHeight = item.tileHeight;
+            color = item.color;
+            // the columns are drawn from the top of the world, the rows from its left side.
+            double lastX = gridX, lastY = gridY;
+            for (double ix = gridX; ix < gridX + gridWidth; ix += tileWidth) {
+                lastX = ix;
+            }
+            for (double iy = gridY; iy < gridY + gridHeight; iy += tileHeight) {
+                lastY = iy;
+            }
+            firstCol = Math.floorDiv((int) Math.floor(Math.min(gridX, 0)) - 1, chunkSize);
+            firstRow = Math.floorDiv((int) Math.floor(Math.min(gridY, 0)) - 1, chunkSize);
+            cols = Math.floorDiv((int) Math.ceil(Math.max(lastX + tileWidth, gridWidth)) + 1, chunkSize) - firstCol + 1;
+            rows = Math.floorDiv((int) Math.ceil(Math.max(lastY + tileHeight, gridHeight)) + 1, chunkSize) - firstRow + 1;
+            chunks = new BufferedImage[cols * rows];
+        }
+
+        boolean matches(RenderItem item) {
+            return gridX == item.gridX && gridY == item.gridY
+                    && gridWidth == item.gridWidth && gridHeight == item.gridHeight
+                    && tileWidth == item.tileWidth && tileHeight == item.tileHeight
+                    && color.equals(item.color);
+        }
+
+        /**
+         * Release the chunk images.
+         *
+         * @return the number of chunk images released.
+         */
+        int flush() {
+            int count = 0;
+            for (BufferedImage chunk : chunks) {
+                if (chunk != null) {
+                    chunk.flush();
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    private final int chunkSize;
+    private final GraphicsConfiguration gconf;
+    private final Map<RenderingHints.Key, Object> hints;
+    private final List<GridLayer> layers = new ArrayList<>();
+    private int nbChunks = 0;
+
+    /**
+     * Create a new {@link GridChunkCache}.
+     *
+     * @param chunkSize the size of the chunk images (in pixels).
+     * @param gconf     the configuration the chunk images are made compatible with (may be null).
+     * @param hints     the rendering hints the grid lines are drawn with.
+     */
+    public GridChunkCache(int chunkSize, GraphicsConfiguration gconf, Map<RenderingHints.Key, Object> hints) {
+        this.chunkSize = chunkSize;
+        this.gconf = gconf;
+        this.hints = hints;
+    }
+
+    /**
+     * Start a new full frame, where all the visible grids are drawn.
+     */
+    public void begin() {
+        for (GridLayer layer : layers) {
+            layer.used = false;
+        }
+    }
+
+    /**
+     * Draw the visible part of a grid.
+     *
+     * @param rb    the {@link RenderBackend}, translated to the world coordinates.
+     * @param item  the {@link RenderItem} of the grid.
+     * @param viewX the left position of the viewport in the world.
+     * @param viewY the top position of the viewport in the world.
+     * @param viewW the width of the viewport.
+     * @param viewH the height of the viewport.
+     */
+    public void draw(RenderBackend rb, RenderItem item, double viewX, double viewY, double viewW, double viewH) {
+        if (item.color == null || item.tileWidth <= 0 || item.tileHeight <= 0) {
+            return;
+        }
+        GridLayer layer = getLayer(item);
+        int col0 = Math.max(layer.firstCol, (int) Math.floor(viewX / chunkSize));
+        int row0 = Math.max(layer.firstRow, (int) Math.floor(viewY / chunkSize));
+        int col1 = Math.min(layer.firstCol + layer.cols - 1, (int) Math.floor((viewX + viewW) / chunkSize));
+        int row1 = Math.min(layer.firstRow + layer.rows - 1, (int) Math.floor((viewY + viewH) / chunkSize));
+        for (int row = row0; row <= row1; row++) {
+            for (int col = col0; col <= col1; col++) {
+                int index = (row - layer.firstRow) * layer.cols + (col - layer.firstCol);
+                if (layer.chunks[index] == null) {
+                    layer.chunks[index] = renderChunk(layer, col, row);
+                }
+                rb.drawImage(layer.chunks[index], col * chunkSize, row * chunkSize);
+            }
+        }
+    }
+
+    private GridLayer getLayer(RenderItem item) {
+        for (GridLayer layer : layers) {
+            if (layer.matches(item)) {
+                layer.used = true;
+                return layer;
+            }
+        }
+        GridLayer layer = new GridLayer(item, chunkSize);
+        layers.add(layer);
+        return layer;
+    }
+
+    /**
+     * Render the lines of a grid crossing a chunk.
+     */
+    private BufferedImage renderChunk(GridLayer layer, int col, int row) {
+        BufferedImage chunk = gconf != null
+                ? gconf.createCompatibleImage(chunkSize, chunkSize, Transparency.TRANSLUCENT)
+                : new BufferedImage(chunkSize, chunkSize, BufferedImage.TYPE_INT_ARGB_PRE);
+        int x0 = col * chunkSize, y0 = row * chunkSize;
+        Graphics2D g = chunk.createGraphics();
+        g.setRenderingHints(hints);
+        g.translate(-x0, -y0);
+        g.setColor(layer.color);
+        for (double ix = layer.gridX; ix < layer.gridX + layer.gridWidth; ix += layer.tileWidth) {
+            if (ix + layer.tileWidth + 1 >= x0 && ix - 1 <= x0 + chunkSize) {
+                g.drawRect((int) ix, 0, layer.tileWidth, (int) layer.gridHeight);
+            }
+        }
+        for (double iy = layer.gridY; iy < layer.gridY + layer.gridHeight; iy += layer.tileHeight) {
+            if (iy + layer.tileHeight + 1 >= y0 && iy - 1 <= y0 + chunkSize) {
+                g.drawRect(0, (int) iy, (int) layer.gridWidth, layer.tileHeight);
+            }
+        }
+        g.dispose();
+        nbChunks++;
+        return chunk;
+    }
+
+    /**
+     * End the full frame, releasing the grids not drawn since its start.
+     */
+    public void end() {
+        for (Iterator<GridLayer> it = layers.iterator(); it.hasNext(); ) {
+            GridLayer layer = it.next();
+            if (!layer.used) {
+                nbChunks -= layer.flush();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the number of chunk images in the cache.
+     */
+    public int getChunkCount() {
+        return nbChunks;
+    }
+}
@@ -0,0 +1,114 @@
+package com.snapgames.framework.render;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.font.GlyphVector;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+
+/**
+ * The {@link Java2DBackend} draws through the {@link Graphics2D} of the rendering buffer, with the
+ * rendering hints of the {@link com.snapgames.framework.services.RenderingService}: shapes and texts
+ * are antialiased, and the buffer may be an accelerated image.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class Java2DBackend implements RenderBackend {
+    private final Map<RenderingHints.Key, Object> hints;
+    private final Rectangle2D rect = new Rectangle2D.Double();
+    private final Ellipse2D ellipse = new Ellipse2D.Double();
+    private Graphics2D g;
+
+    /**
+     * Create a new {@link Java2DBackend}.
+     *
+     * @param hints the rendering hints of the rendering buffer.
+     */
+    public Java2DBackend(Map<RenderingHints.Key, Object> hints) {
+        this.hints = hints;
+    }
+
+    @Override
+    public void begin(Graphics2D g) {
+        this.g = g;
+        g.setRenderingHints(hints);
+    }
+
+    @Override
+    public void end() {
+        g = null;
+    }
+
+    @Override
+    public void translate(double dx, double dy) {
+        g.translate(dx, dy);
+    }
+
+    @Override
+    public void setClip(int x, int y, int width, int height) {
+        g.setClip(x, y, width, height);
+    }
+
+    @Override
+    public void clearClip() {
+        g.setClip(null);
+    }
+
+    @Override
+    public void fillRect(double x, double y, double width, double height, Color color) {
+        rect.setRect(x, y, width, height);
+        fillShape(rect, color);
+    }
+
+    @Override
+    public void drawRect(double x, double y, double width, double height, Color color) {
+        rect.setRect(x, y, width, height);
+        drawShape(rect, color);
+    }
+
+    @Override
+    public void fillEllipse(double x, double y, double width, double height, Color color) {
+        ellipse.setFrame(x, y, width, height);
+        fillShape(ellipse, color);
+    }
+
+    @Override
+    public void drawEllipse(double x, double y, double width, double height, Color color) {
+        ellipse.setFrame(x, y, width, height);
+        drawShape(ellipse, color);
+    }
+
+    @Override
+    public void fillShape(Shape shape, Color color) {
+        if (color != null) {
+            g.setColor(color);
+            g.fill(shape);
+        }
+    }
+
+    @Override
+    public void drawShape(Shape shape, Color color) {
+        if (color != null) {
+            g.setColor(color);
+            g.draw(shape);
+        }
+    }
+
+    @Override
+    public void drawImage(BufferedImage image, int x, int y) {
+        g.drawImage(image, x, y, null);
+    }
+
+    @Override
+    public void drawGlyphs(GlyphVector glyphs, float x, float y, Color color) {
+        if (color != null) {
+            g.setColor(color);
+            g.drawGlyphVector(glyphs, x, y);
+        }
+    }
+}
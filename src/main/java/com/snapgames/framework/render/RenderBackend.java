@@ -0,0 +1,175 @@
+package com.snapgames.framework.render;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Shape;
+import java.awt.font.GlyphVector;
+import java.awt.image.BufferedImage;
+
+/**
+ * A {@link RenderBackend} draws the primitives of the {@link RenderItem}s into the rendering buffer.
+ * <p>
+ * The coordinates are given in the current coordinate system, moved by {@link #translate(double, double)}.
+ * The colors may be null: nothing is drawn. The backends are only used by the thread drawing the frames,
+ * between a {@link #begin(Graphics2D)} and an {@link #end()} call.
+ * <p>
+ * The available backends are selected by <code>app.render.backend</code>:
+ * <ul>
+ *     <li><code>java2d</code>: {@link Java2DBackend}, antialiased drawing through {@link Graphics2D},</li>
+ *     <li><code>software</code>: {@link SoftwareBackend}, aliased drawing of rectangles, ellipses and
+ *     images written directly into the pixels of the rendering buffer.</li>
+ * </ul>
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public interface RenderBackend {
+
+    /**
+     * Start drawing a frame.
+     *
+     * @param g the graphics context of the rendering buffer.
+     */
+    void begin(Graphics2D g);
+
+    /**
+     * End the drawing of a frame.
+     */
+    void end();
+
+    /**
+     * Move the origin of the coordinate system.
+     *
+     * @param dx the horizontal move
+     * @param dy the vertical move
+     */
+    void translate(double dx, double dy);
+
+    /**
+     * Restrict the drawing to a rectangle.
+     *
+     * @param x      the left position of the rectangle
+     * @param y      the top position of the rectangle
+     * @param width  the width of the rectangle
+     * @param height the height of the rectangle
+     */
+    void setClip(int x, int y, int width, int height);
+
+    /**
+     * Remove the drawing restriction.
+     */
+    void clearClip();
+
+    /**
+     * Fill a rectangle.
+     *
+     * @param x      the left position of the rectangle
+     * @param y      the top position of the rectangle
+     * @param width  the width of the rectangle
+     * @param height the height of the rectangle
+     * @param color  the fill color
+     */
+    void fillRect(double x, double y, double width, double height, Color color);
+
+    /**
+     * Draw the outline of a rectangle.
+     *
+     * @param x      the left position of the rectangle
+     * @param y      the top position of the rectangle
+     * @param width  the width of the rectangle
+     * @param height the height of the rectangle
+     * @param color  the outline color
+     */
+    void drawRect(double x, double y, double width, double height, Color color);
+
+    /**
+     * Fill the ellipse inscribed in a rectangle.
+     *
+     * @param x      the left position of the rectangle
+     * @param y      the top position of the rectangle
+     * @param width  the width of the rectangle
+     * @param height the height of the rectangle
+     * @param color  the fill color
+     */
+    void fillEllipse(double x, double y, double width, double height, Color color);
+
+    /**
+     * Draw the outline of the ellipse inscribed in a rectangle.
+     *
+     * @param x      the left position of the rectangle
+     * @param y      the top position of the rectangle
+     * @param width  the width of the rectangle
+     * @param height the height of the rectangle
+     * @param color  the outline color
+     */
+    void drawEllipse(double x, double y, double width, double height, Color color);
+
+    /**
+     * Fill any shape.
+     *
+     * @param shape the shape to be filled.
+     * @param color the fill color
+     */
+    void fillShape(Shape shape, Color color);
+
+    /**
+     * Draw the outline of any shape.
+     *
+     * @param shape the shape to be drawn.
+     * @param color the outline color
+     */
+    void drawShape(Shape shape, Color color);
+
+    /**
+     * Draw an image, its top left corner at an integer position.
+     *
+     * @param image the image to be drawn.
+     * @param x     the left position of the image
+     * @param y     the top position of the image
+     */
+    void drawImage(BufferedImage image, int x, int y);
+
+    /**
+     * Draw the glyphs of a text.
+     *
+     * @param glyphs the glyphs to be drawn.
+     * @param x      the left position of the text
+     * @param y      the position of the text baseline
+     * @param color  the text color
+     */
+    void drawGlyphs(GlyphVector glyphs, float x, float y, Color color);
+
+    /**
+     * Fill the shape of an item.
+     *
+     * @param item  the item the shape is drawn.
+     * @param color the fill color
+     */
+    default void fill(RenderItem item, Color color) {
+        switch (item.shapeType) {
+            case RECTANGLE -> fillRect(item.x, item.y, item.width, item.height, color);
+            case ELLIPSE -> fillEllipse(item.x, item.y, item.width, item.height, color);
+            case PATH -> fillShape(item.path, color);
+            case NONE -> {
+                // nothing to fill.
+            }
+        }
+    }
+
+    /**
+     * Draw the outline of the shape of an item.
+     *
+     * @param item  the item the shape is drawn.
+     * @param color the outline color
+     */
+    default void draw(RenderItem item, Color color) {
+        switch (item.shapeType) {
+            case RECTANGLE -> drawRect(item.x, item.y, item.width, item.height, color);
+            case ELLIPSE -> drawEllipse(item.x, item.y, item.width, item.height, color);
+            case PATH -> drawShape(item.path, color);
+            case NONE -> {
+                // nothing to draw.
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.snapgames.framework.render;
+
+/**
+ * A {@link RenderBand} is a horizontal band of the rendering buffer, drawn by its own thread in
+ * banded rendering mode (see <code>app.render.bands</code>): the band has its own
+ * {@link RenderBackend}, clipped to its rows, and its own caches, which are not shared between
+ * threads. Without banded rendering, a single band covers the whole buffer.
+ * <p>
+ * Like {@link RenderItem}, it is a data holder with public fields.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class RenderBand {
+    /**
+     * The margin (in pixels) added around the band, for the antialiasing and the strokes.
+     */
+    private static final int MARGIN = 2;
+
+    /**
+     * The first row of the band, and the row after the last one.
+     */
+    public final int y0, y1;
+    public final RenderBackend backend;
+    public final GridChunkCache gridCache;
+    /**
+     * The pre-rasterised shapes, null when the shapes are always drawn directly.
+     */
+    public final SpriteCache spriteCache;
+    /**
+     * The number of grid chunks and of sprites held by the caches of the band, published by the
+     * thread drawing the band after each frame, to be read from the other threads.
+     */
+    public volatile int gridChunkCount, spriteCount;
+
+    /**
+     * Create a new {@link RenderBand}.
+     *
+     * @param y0          the first row of the band.
+     * @param y1          the row after the last one.
+     * @param backend     the backend drawing into the band.
+     * @param gridCache   the pre-rendered grid chunks of the band.
+     * @param spriteCache the pre-rasterised shapes of the band (may be null).
+     */
+    public RenderBand(int y0, int y1, RenderBackend backend, GridChunkCache gridCache, SpriteCache spriteCache) {
+        this.y0 = y0;
+        this.y1 = y1;
+        this.backend = backend;
+        this.gridCache = gridCache;
+        this.spriteCache = spriteCache;
+    }
+
+    /**
+     * Test if an item may draw pixels in the band.
+     *
+     * @param item  the item to be tested.
+     * @param viewY the top position of the viewport in the item coordinates.
+     * @return true if the item must be drawn in this band.
+     */
+    public boolean intersects(RenderItem item, double viewY) {
+        return item.intersects(Double.NEGATIVE_INFINITY, y0 + viewY - MARGIN,
+                Double.POSITIVE_INFINITY, y1 + viewY + MARGIN);
+    }
+}
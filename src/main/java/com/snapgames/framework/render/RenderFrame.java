@@ -0,0 +1,93 @@
+package com.snapgames.framework.render;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * A {@link RenderFrame} is the snapshot of a scene published by the simulation for one rendered
+ * frame: the camera position, the world area, the debug level and statistics, and the
+ * {@link RenderItem}s of all the visible entities.
+ * <p>
+ * Frames are exchanged through a {@link TripleBuffer}: a frame is only written by the simulation
+ * thread before being published, and only read by the render thread after, so it is immutable for
+ * its reader. Items are pooled and reused from one frame to the next one.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class RenderFrame {
+    private static final Comparator<RenderItem> BY_PRIORITY = Comparator.comparingInt(i -> i.priority);
+
+    private RenderItem[] items = new RenderItem[64];
+    private int count = 0;
+
+    public double cameraX, cameraY;
+    public boolean hasCamera;
+    public double worldX, worldY, worldWidth, worldHeight;
+    public int debugLevel;
+    /**
+     * The services statistics line, captured only in debug mode.
+     */
+    public String stats;
+    /**
+     * Index of the frame, incremented on each capture.
+     */
+    public long index;
+
+    /**
+     * Create a new empty {@link RenderFrame}.
+     */
+    public RenderFrame() {
+        // items are created on demand.
+    }
+
+    /**
+     * Remove all the items from the frame.
+     */
+    public void clear() {
+        for (int i = 0; i < count; i++) {
+            items[i].clear();
+        }
+        count = 0;
+        hasCamera = false;
+        stats = null;
+    }
+
+    /**
+     * @return the next free item of the frame, to be filled.
+     */
+    public RenderItem next() {
+        if (count == items.length) {
+            items = Arrays.copyOf(items, count * 2);
+        }
+        RenderItem item = items[count];
+        if (item == null) {
+            item = new RenderItem();
+            items[count] = item;
+        }
+        count++;
+        return item;
+    }
+
+    /**
+     * Sort the items on their priority, keeping the capture order between items of the same priority.
+     */
+    public void sort() {
+        Arrays.sort(items, 0, count, BY_PRIORITY);
+    }
+
+    /**
+     * @return the number of items of the frame.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @param i the item index
+     * @return the <code>i</code>th item of the frame.
+     */
+    public RenderItem get(int i) {
+        return items[i];
+    }
+}
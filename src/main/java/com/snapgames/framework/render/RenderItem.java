@@ -0,0 +1,198 @@
+package com.snapgames.framework.render;
+
+import java.awt.Color;
+import java.awt.Shape;
+import java.awt.font.GlyphVector;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RectangularShape;
+import java.util.Objects;
+
+/**
+ * A {@link RenderItem} is the copy of everything needed to draw one entity: shape geometry and
+ * colors, text, grid and gauge, and the rendering priority. It only holds primitive values and
+ * immutable objects ({@link Color}, the glyphs of a {@link TextCache.TextLayout}), so that the
+ * render thread never reads the components updated by the simulation.
+ * <p>
+ * Like {@link com.snapgames.framework.math.Vector2d}, it is a plain data holder with public fields,
+ * reused from one frame to the next one (see {@link RenderFrame#next()}).
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class RenderItem {
+    /**
+     * The type of the shape geometry.
+     */
+    public enum ShapeType {
+        NONE, RECTANGLE, ELLIPSE, PATH
+    }
+
+    /**
+     * The id of the captured entity.
+     */
+    public long id;
+    public int priority;
+    public boolean stickToViewport;
+
+    public ShapeType shapeType = ShapeType.NONE;
+    public double x, y, width, height;
+    /**
+     * A copy of the shape, for the shapes not defined by their frame only.
+     */
+    public Shape path;
+    public Color color;
+    public Color fillColor;
+
+    /**
+     * The glyphs of the text, laid out once by the {@link TextCache} and never modified.
+     */
+    public GlyphVector glyphs;
+    public Color textColor;
+    public double textX, textY, textWidth, textHeight;
+
+    public boolean grid;
+    public double gridX, gridY, gridWidth, gridHeight;
+    public int tileWidth, tileHeight;
+
+    public boolean gauge;
+    public double gaugeX, gaugeY, gaugeWidth, gaugeHeight;
+    public Color gaugeColor;
+
+    /**
+     * Create a new empty {@link RenderItem}.
+     */
+    public RenderItem() {
+        // filled by the capture of an entity.
+    }
+
+    /**
+     * Reset the item, releasing its references.
+     */
+    public void clear() {
+        priority = 0;
+        stickToViewport = false;
+        shapeType = ShapeType.NONE;
+        path = null;
+        color = null;
+        fillColor = null;
+        glyphs = null;
+        textColor = null;
+        grid = false;
+        gauge = false;
+        gaugeColor = null;
+    }
+
+    /**
+     * Copy all the values of another item.
+     *
+     * @param o the item to be copied.
+     * @return this {@link RenderItem} updated.
+     */
+    public RenderItem copy(RenderItem o) {
+        id = o.id;
+        priority = o.priority;
+        stickToViewport = o.stickToViewport;
+        shapeType = o.shapeType;
+        x = o.x;
+        y = o.y;
+        width = o.width;
+        height = o.height;
+        path = o.path;
+        color = o.color;
+        fillColor = o.fillColor;
+        glyphs = o.glyphs;
+        textColor = o.textColor;
+        textX = o.textX;
+        textY = o.textY;
+        textWidth = o.textWidth;
+        textHeight = o.textHeight;
+        grid = o.grid;
+        gridX = o.gridX;
+        gridY = o.gridY;
+        gridWidth = o.gridWidth;
+        gridHeight = o.gridHeight;
+        tileWidth = o.tileWidth;
+        tileHeight = o.tileHeight;
+        gauge = o.gauge;
+        gaugeX = o.gaugeX;
+        gaugeY = o.gaugeY;
+        gaugeWidth = o.gaugeWidth;
+        gaugeHeight = o.gaugeHeight;
+        gaugeColor = o.gaugeColor;
+        return this;
+    }
+
+    /**
+     * Compare the drawing of 2 items. The shapes copied into a path are compared on their
+     * reference: such items are always considered as changed.
+     *
+     * @param o the item to be compared to.
+     * @return true if both items draw the same pixels.
+     */
+    public boolean sameAs(RenderItem o) {
+        return priority == o.priority && stickToViewport == o.stickToViewport
+                && shapeType == o.shapeType && x == o.x && y == o.y && width == o.width && height == o.height
+                && path == o.path && Objects.equals(color, o.color) && Objects.equals(fillColor, o.fillColor)
+                && glyphs == o.glyphs && Objects.equals(textColor, o.textColor)
+                && textX == o.textX && textY == o.textY
+                && grid == o.grid && gridX == o.gridX && gridY == o.gridY
+                && gridWidth == o.gridWidth && gridHeight == o.gridHeight
+                && tileWidth == o.tileWidth && tileHeight == o.tileHeight
+                && gauge == o.gauge && gaugeX == o.gaugeX && gaugeY == o.gaugeY
+                && gaugeWidth == o.gaugeWidth && gaugeHeight == o.gaugeHeight
+                && Objects.equals(gaugeColor, o.gaugeColor);
+    }
+
+    /**
+     * Test if the drawing of the item intersects a rectangle. A grid covers the whole world.
+     *
+     * @param x0 the left position of the rectangle
+     * @param y0 the top position of the rectangle
+     * @param x1 the right position of the rectangle
+     * @param y1 the bottom position of the rectangle
+     * @return true if the shape or the text of the item may draw pixels in the rectangle.
+     */
+    public boolean intersects(double x0, double y0, double x1, double y1) {
+        if (grid) {
+            return true;
+        }
+        boolean hit = shapeType != ShapeType.NONE
+                && x <= x1 && x0 <= x + width && y <= y1 && y0 <= y + height;
+        if (!hit && glyphs != null) {
+            // the glyphs are drawn on the baseline, their descent below it.
+            hit = textX <= x1 && x0 <= textX + textWidth
+                    && textY - textHeight <= y1 && y0 <= textY + textHeight * 0.5;
+        }
+        return hit;
+    }
+
+    /**
+     * Copy the geometry of a shape.
+     *
+     * @param shape the shape to be copied (may be null).
+     */
+    public void setShape(Shape shape) {
+        if (shape instanceof RectangularShape rs) {
+            shapeType = rs instanceof Ellipse2D ? ShapeType.ELLIPSE
+                    : rs instanceof Rectangle2D ? ShapeType.RECTANGLE : ShapeType.PATH;
+            x = rs.getX();
+            y = rs.getY();
+            width = rs.getWidth();
+            height = rs.getHeight();
+            path = shapeType == ShapeType.PATH ? new Path2D.Double(shape) : null;
+        } else if (shape != null) {
+            shapeType = ShapeType.PATH;
+            path = new Path2D.Double(shape);
+            Rectangle2D b = shape.getBounds2D();
+            x = b.getX();
+            y = b.getY();
+            width = b.getWidth();
+            height = b.getHeight();
+        } else {
+            shapeType = ShapeType.NONE;
+            path = null;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.snapgames.framework.render;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.snapgames.framework.components.GraphicComponent;
+import com.snapgames.framework.components.PriorityComponent;
+import com.snapgames.framework.entities.Entity;
+import com.snapgames.framework.entities.EntityListener;
+
+/**
+ * The {@link RenderLayers} keeps the drawable entities (the ones having a {@link GraphicComponent})
+ * in layers, one per {@link PriorityComponent} priority, walked in increasing priority order.
+ * Inside a layer, entities are kept in the order they were added.
+ * <p>
+ * The layers are retained from one frame to the next one: they are only updated when an entity is
+ * added or removed (as an {@link EntityListener}) or when its priority changes (see
+ * {@link #move(Entity)}), so walking all the entities in drawing order is a linear loop over
+ * pre-sorted arrays, without any sort nor component lookup.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class RenderLayers implements EntityListener {
+
+    /**
+     * A layer: the entities of one priority, with their graphic and priority components.
+     */
+    public static class Layer {
+        private final int priority;
+        private int count = 0;
+        private Entity[] entities = new Entity[16];
+        private GraphicComponent[] graphics = new GraphicComponent[16];
+        private PriorityComponent[] priorities = new PriorityComponent[16];
+
+        Layer(int priority) {
+            this.priority = priority;
+        }
+
+        void add(Entity e, GraphicComponent gc, PriorityComponent prc) {
+            if (count == entities.length) {
+                int n = count * 2;
+                entities = Arrays.copyOf(entities, n);
+                graphics = Arrays.copyOf(graphics, n);
+                priorities = Arrays.copyOf(priorities, n);
+            }
+            entities[count] = e;
+            graphics[count] = gc;
+            priorities[count] = prc;
+            count++;
+        }
+
+        void remove(Entity e) {
+            for (int i = 0; i < count; i++) {
+                if (entities[i] == e) {
+                    // shift to keep the insertion order.
+                    System.arraycopy(entities, i + 1, entities, i, count - i - 1);
+                    System.arraycopy(graphics, i + 1, graphics, i, count - i - 1);
+                    System.arraycopy(priorities, i + 1, priorities, i, count - i - 1);
+                    count--;
+                    entities[count] = null;
+                    graphics[count] = null;
+                    priorities[count] = null;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * @return the priority of the layer.
+         */
+        public int getPriority() {
+            return priority;
+        }
+
+        /**
+         * @return the number of entities into the layer.
+         */
+        public int size() {
+            return count;
+        }
+
+        /**
+         * @param i the entity index
+         * @return the <code>i</code>th {@link Entity} of the layer.
+         */
+        public Entity getEntity(int i) {
+            return entities[i];
+        }
+
+        /**
+         * @param i the entity index
+         * @return the {@link GraphicComponent} of the <code>i</code>th entity of the layer.
+         */
+        public GraphicComponent getGraphic(int i) {
+            return graphics[i];
+        }
+
+        /**
+         * @param i the entity index
+         * @return true if the priority of the <code>i</code>th entity is not the layer one anymore.
+         */
+        public boolean hasMoved(int i) {
+            return priorities[i] != null && priorities[i].getPriority() != priority;
+        }
+    }
+
+    private final TreeMap<Integer, Layer> layers = new TreeMap<>();
+    private final Map<Entity, Layer> index = new IdentityHashMap<>();
+    /**
+     * The layers in priority order, rebuilt when a layer is created or removed.
+     */
+    private Layer[] ordered = new Layer[0];
+
+    /**
+     * Create a new empty {@link RenderLayers}.
+     */
+    public RenderLayers() {
+        // filled through the EntityListener notifications.
+    }
+
+    @Override
+    public void onEntityAdded(Entity e) {
+        // entities without graphics (force fields, trigger volumes, ...) are not drawn.
+        if (!e.containsComponent(GraphicComponent.class) || index.containsKey(e)) {
+            return;
+        }
+        GraphicComponent gc = e.getComponent(GraphicComponent.class);
+        PriorityComponent prc = e.containsComponent(PriorityComponent.class)
+                ? e.getComponent(PriorityComponent.class) : null;
+        int priority = prc != null ? prc.getPriority() : 0;
+        Layer layer = layers.get(priority);
+        if (layer == null) {
+            layer = new Layer(priority);
+            layers.put(priority, layer);
+            ordered = layers.values().toArray(new Layer[0]);
+        }
+        layer.add(e, gc, prc);
+        index.put(e, layer);
+    }
+
+    @Override
+    public void onEntityRemoved(Entity e) {
+        Layer layer = index.remove(e);
+        if (layer != null) {
+            layer.remove(e);
+            if (layer.size() == 0) {
+                layers.remove(layer.getPriority());
+                ordered = layers.values().toArray(new Layer[0]);
+            }
+        }
+    }
+
+    /**
+     * Move an entity whose priority changed to the layer of its new priority.
+     *
+     * @param e the {@link Entity} to be moved.
+     */
+    public void move(Entity e) {
+        onEntityRemoved(e);
+        onEntityAdded(e);
+    }
+
+    /**
+     * @return the number of layers.
+     */
+    public int getLayerCount() {
+        return ordered.length;
+    }
+
+    /**
+     * @param i the layer index
+     * @return the <code>i</code>th layer, in increasing priority order.
+     */
+    public Layer getLayer(int i) {
+        return ordered[i];
+    }
+
+    /**
+     * @return the number of entities into all the layers.
+     */
+    public int size() {
+        return index.size();
+    }
+}
@@ -0,0 +1,311 @@
+package com.snapgames.framework.render;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.font.GlyphVector;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * The {@link SoftwareBackend} writes the rectangles, ellipses and images directly into the
+ * <code>int</code> pixels of an {@link BufferedImage#TYPE_INT_RGB} rendering buffer, with primitive
+ * loops filling horizontal spans: no {@link Graphics2D} call is made for these primitives, which
+ * makes drawing many small entities much cheaper.
+ * <p>
+ * The primitives are not antialiased: a pixel is drawn when its center is inside the shape, and the
+ * outlines are the pixels of the shape touching its outside. Translucent colors and images
+ * (premultiplied or not) are blended over the buffer. The glyphs and the other shapes are drawn
+ * through the {@link Graphics2D} of the buffer, with the same translation and clip.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class SoftwareBackend implements RenderBackend {
+    private final Map<RenderingHints.Key, Object> hints;
+    private final int[] pixels;
+    private final int width;
+    private final int height;
+
+    private Graphics2D g;
+    private double tx, ty;
+    private int clipX0, clipY0, clipX1, clipY1;
+    /**
+     * The horizontal spans of the last rasterised ellipse, one per row.
+     */
+    private int[] spanStart = new int[64];
+    private int[] spanEnd = new int[64];
+    private int rows;
+
+    /**
+     * Create a new {@link SoftwareBackend}.
+     *
+     * @param buffer the rendering buffer, of type {@link BufferedImage#TYPE_INT_RGB}.
+     * @param hints  the rendering hints used for the glyphs and the other shapes.
+     */
+    public SoftwareBackend(BufferedImage buffer, Map<RenderingHints.Key, Object> hints) {
+        this.hints = hints;
+        this.pixels = ((DataBufferInt) buffer.getRaster().getDataBuffer()).getData();
+        this.width = buffer.getWidth();
+        this.height = buffer.getHeight();
+    }
+
+    @Override
+    public void begin(Graphics2D g) {
+        this.g = g;
+        g.setRenderingHints(hints);
+        tx = 0;
+        ty = 0;
+        clearClip();
+    }
+
+    @Override
+    public void end() {
+        g = null;
+    }
+
+    @Override
+    public void translate(double dx, double dy) {
+        tx += dx;
+        ty += dy;
+        g.translate(dx, dy);
+    }
+
+    @Override
+    public void setClip(int x, int y, int width, int height) {
+        // the end is computed from the unclamped start, then both ends are kept into the buffer.
+        int x0 = (int) Math.floor(x + tx + 0.5), y0 = (int) Math.floor(y + ty + 0.5);
+        clipX0 = Math.max(0, Math.min(x0, this.width));
+        clipY0 = Math.max(0, Math.min(y0, this.height));
+        clipX1 = Math.max(0, Math.min(x0 + width, this.width));
+        clipY1 = Math.max(0, Math.min(y0 + height, this.height));
+        g.setClip(x, y, width, height);
+    }
+
+    @Override
+    public void clearClip() {
+        clipX0 = 0;
+        clipY0 = 0;
+        clipX1 = width;
+        clipY1 = height;
+        g.setClip(null);
+    }
+
+    @Override
+    public void fillRect(double x, double y, double width, double height, Color color) {
+        if (color == null) {
+            return;
+        }
+        int argb = color.getRGB();
+        int x0 = pixel(x + tx), x1 = pixel(x + tx + width);
+        int y1 = pixel(y + ty + height);
+        for (int iy = pixel(y + ty); iy < y1; iy++) {
+            span(iy, x0, x1, argb);
+        }
+    }
+
+    @Override
+    public void drawRect(double x, double y, double width, double height, Color color) {
+        if (color == null) {
+            return;
+        }
+        int argb = color.getRGB();
+        int x0 = (int) Math.floor(x + tx + 0.5), x1 = (int) Math.floor(x + tx + width + 0.5);
+        int y0 = (int) Math.floor(y + ty + 0.5), y1 = (int) Math.floor(y + ty + height + 0.5);
+        span(y0, x0, x1 + 1, argb);
+        if (y1 > y0) {
+            span(y1, x0, x1 + 1, argb);
+        }
+        for (int iy = y0 + 1; iy < y1; iy++) {
+            span(iy, x0, x0 + 1, argb);
+            if (x1 > x0) {
+                span(iy, x1, x1 + 1, argb);
+            }
+        }
+    }
+
+    @Override
+    public void fillEllipse(double x, double y, double width, double height, Color color) {
+        if (color == null) {
+            return;
+        }
+        int argb = color.getRGB();
+        int y0 = rasterise(x + tx, y + ty, width, height);
+        for (int r = 0; r < rows; r++) {
+            span(y0 + r, spanStart[r], spanEnd[r], argb);
+        }
+    }
+
+    @Override
+    public void drawEllipse(double x, double y, double width, double height, Color color) {
+        if (color == null) {
+            return;
+        }
+        int argb = color.getRGB();
+        int y0 = rasterise(x + tx, y + ty, width, height);
+        for (int r = 0; r < rows; r++) {
+            int start = spanStart[r], end = spanEnd[r];
+            if (start >= end) {
+                continue;
+            }
+            // the pixels of the span having their 4 neighbours inside the ellipse are not drawn.
+            int innerStart = start + 1, innerEnd = end - 1;
+            if (r == 0 || r == rows - 1) {
+                innerEnd = innerStart;
+            } else {
+                innerStart = Math.max(innerStart, Math.max(spanStart[r - 1], spanStart[r + 1]));
+                innerEnd = Math.min(innerEnd, Math.min(spanEnd[r - 1], spanEnd[r + 1]));
+            }
+            if (innerStart >= innerEnd) {
+                span(y0 + r, start, end, argb);
+            } else {
+                span(y0 + r, start, innerStart, argb);
+                span(y0 + r, innerEnd, end, argb);
+            }
+        }
+    }
+
+    /**
+     * Compute the horizontal span of each row of an ellipse, in the buffer coordinates.
+     *
+     * @return the first row of the ellipse.
+     */
+    private int rasterise(double x, double y, double width, double height) {
+        double rx = width * 0.5, ry = height * 0.5;
+        double cx = x + rx, cy = y + ry;
+        int y0 = pixel(y);
+        rows = Math.max(0, pixel(y + height) - y0);
+        if (rows > spanStart.length) {
+            spanStart = new int[rows * 2];
+            spanEnd = new int[rows * 2];
+        }
+        for (int r = 0; r < rows; r++) {
+            double t = (y0 + r + 0.5 - cy) / ry;
+            if (t * t >= 1.0) {
+                spanStart[r] = 0;
+                spanEnd[r] = 0;
+                continue;
+            }
+            double dx = rx * Math.sqrt(1.0 - t * t);
+            spanStart[r] = pixel(cx - dx);
+            spanEnd[r] = pixel(cx + dx);
+        }
+        return y0;
+    }
+
+    /**
+     * @return the index of the first pixel whose center is after the position.
+     */
+    private static int pixel(double v) {
+        return (int) Math.ceil(v - 0.5);
+    }
+
+    /**
+     * Fill the pixels [x0, x1) of a row, blending translucent colors.
+     */
+    private void span(int y, int x0, int x1, int argb) {
+        if (y < clipY0 || y >= clipY1) {
+            return;
+        }
+        int start = Math.max(x0, clipX0), end = Math.min(x1, clipX1);
+        if (start >= end) {
+            return;
+        }
+        int row = y * width;
+        int alpha = argb >>> 24;
+        if (alpha == 255) {
+            Arrays.fill(pixels, row + start, row + end, argb);
+        } else if (alpha > 0) {
+            for (int i = row + start; i < row + end; i++) {
+                pixels[i] = blend(pixels[i], argb, alpha);
+            }
+        }
+    }
+
+    /**
+     * Blend a non-premultiplied color over a pixel.
+     */
+    private static int blend(int dst, int src, int alpha) {
+        int inv = 255 - alpha;
+        int r = ((src >> 16 & 0xff) * alpha + (dst >> 16 & 0xff) * inv) * 0x8081 >>> 23;
+        int gr = ((src >> 8 & 0xff) * alpha + (dst >> 8 & 0xff) * inv) * 0x8081 >>> 23;
+        int b = ((src & 0xff) * alpha + (dst & 0xff) * inv) * 0x8081 >>> 23;
+        return 0xff000000 | r << 16 | gr << 8 | b;
+    }
+
+    /**
+     * Blend a premultiplied color over a pixel.
+     */
+    private static int blendPremultiplied(int dst, int src, int alpha) {
+        int inv = 255 - alpha;
+        int r = (src >> 16 & 0xff) + ((dst >> 16 & 0xff) * inv * 0x8081 >>> 23);
+        int gr = (src >> 8 & 0xff) + ((dst >> 8 & 0xff) * inv * 0x8081 >>> 23);
+        int b = (src & 0xff) + ((dst & 0xff) * inv * 0x8081 >>> 23);
+        return 0xff000000 | Math.min(r, 255) << 16 | Math.min(gr, 255) << 8 | Math.min(b, 255);
+    }
+
+    @Override
+    public void fillShape(Shape shape, Color color) {
+        if (color != null) {
+            g.setColor(color);
+            g.fill(shape);
+        }
+    }
+
+    @Override
+    public void drawShape(Shape shape, Color color) {
+        if (color != null) {
+            g.setColor(color);
+            g.draw(shape);
+        }
+    }
+
+    @Override
+    public void drawImage(BufferedImage image, int x, int y) {
+        int type = image.getType();
+        Raster raster = image.getRaster();
+        if (type != BufferedImage.TYPE_INT_ARGB_PRE && type != BufferedImage.TYPE_INT_ARGB
+                && type != BufferedImage.TYPE_INT_RGB
+                || raster.getSampleModelTranslateX() != 0 || raster.getSampleModelTranslateY() != 0) {
+            g.drawImage(image, x, y, null);
+            return;
+        }
+        int[] src = ((DataBufferInt) raster.getDataBuffer()).getData();
+        int stride = ((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride();
+        int dx = (int) Math.floor(x + tx + 0.5), dy = (int) Math.floor(y + ty + 0.5);
+        int x0 = Math.max(dx, clipX0), x1 = Math.min(dx + image.getWidth(), clipX1);
+        int y0 = Math.max(dy, clipY0), y1 = Math.min(dy + image.getHeight(), clipY1);
+        for (int iy = y0; iy < y1; iy++) {
+            int s = (iy - dy) * stride + (x0 - dx);
+            int d = iy * width + x0;
+            if (type == BufferedImage.TYPE_INT_RGB) {
+                System.arraycopy(src, s, pixels, d, x1 - x0);
+                continue;
+            }
+            for (int ix = x0; ix < x1; ix++, s++, d++) {
+                int argb = src[s];
+                int alpha = argb >>> 24;
+                if (alpha == 255) {
+                    pixels[d] = argb;
+                } else if (alpha > 0) {
+                    pixels[d] = type == BufferedImage.TYPE_INT_ARGB_PRE
+                            ? blendPremultiplied(pixels[d], argb, alpha)
+                            : blend(pixels[d], argb, alpha);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void drawGlyphs(GlyphVector glyphs, float x, float y, Color color) {
+        if (color != null) {
+            g.setColor(color);
+            g.drawGlyphVector(glyphs, x, y);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.snapgames.framework.render;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Transparency;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The {@link SpriteCache} keeps the rectangles and ellipses of the {@link RenderItem}s rasterised
+ * into translucent images (sprites), so that the many entities sharing the same geometry and colors
+ * cost one image copy each instead of an antialiased fill and stroke.
+ * <p>
+ * A sprite is identified by the shape type, its size, its fill and stroke colors, and the quarter of
+ * pixel the shape starts in. The shape is rasterised at the middle of this quarter and the sprite is
+ * drawn at an integer position, so its antialiased edges are at most one eighth of pixel away from
+ * the ones of a shape drawn directly.
+ * <p>
+ * The cache keeps at most <code>app.render.sprite.cache.size</code> sprites, evicting the least
+ * recently used one. The shapes larger than {@link #MAX_SPRITE_SIZE} pixels are not cached. The
+ * cache is only used by the thread drawing the frames.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class SpriteCache {
+    /**
+     * The max width and height of a cached shape (in pixels).
+     */
+    public static final int MAX_SPRITE_SIZE = 128;
+    /**
+     * The number of positions a shape can have inside a pixel, on each axis.
+     */
+    private static final int SUBPIXEL_STEPS = 4;
+    /**
+     * The margin (in pixels) around the shape, for its stroke.
+     */
+    private static final int MARGIN = 2;
+
+    /**
+     * The identity of a sprite.
+     */
+    private static class SpriteKey {
+        RenderItem.ShapeType shapeType;
+        double width, height;
+        Color fillColor, color;
+        int phaseX, phaseY;
+
+        SpriteKey set(RenderItem.ShapeType shapeType, double width, double height, Color fillColor, Color color,
+                      int phaseX, int phaseY) {
+            this.shapeType = shapeType;
+            this.width = width;
+            this.height = height;
+            this.fillColor = fillColor;
+            this.color = color;
+            this.phaseX = phaseX;
+            this.phaseY = phaseY;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SpriteKey k && shapeType == k.shapeType && width == k.width && height == k.height
+                    && phaseX == k.phaseX && phaseY == k.phaseY
+                    && Objects.equals(fillColor, k.fillColor) && Objects.equals(color, k.color);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = shapeType.hashCode();
+            h = 31 * h + Double.hashCode(width);
+            h = 31 * h + Double.hashCode(height);
+            h = 31 * h + Objects.hashCode(fillColor);
+            h = 31 * h + Objects.hashCode(color);
+            return 31 * h + phaseX * SUBPIXEL_STEPS + phaseY;
+        }
+    }
+
+    private final GraphicsConfiguration gconf;
+    private final Map<RenderingHints.Key, Object> hints;
+    private final Map<SpriteKey, BufferedImage> sprites;
+    /**
+     * The key used to look up the sprites, without allocation.
+     */
+    private final SpriteKey lookup = new SpriteKey();
+    private final Rectangle2D rect = new Rectangle2D.Double();
+    private final Ellipse2D ellipse = new Ellipse2D.Double();
+    private long nbMisses = 0;
+
+    /**
+     * Create a new {@link SpriteCache}.
+     *
+     * @param maxSprites the max number of sprites kept.
+     * @param gconf      the configuration the sprites are made compatible with (may be null).
+     * @param hints      the rendering hints the shapes are rasterised with.
+     */
+    public SpriteCache(int maxSprites, GraphicsConfiguration gconf, Map<RenderingHints.Key, Object> hints) {
+        this.gconf = gconf;
+        this.hints = hints;
+        this.sprites = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SpriteKey, BufferedImage> eldest) {
+                if (size() > maxSprites) {
+                    eldest.getValue().flush();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Draw the shape of an item from its sprite, if it can be cached.
+     *
+     * @param rb    the {@link RenderBackend}, translated to the item coordinates.
+     * @param item  the {@link RenderItem} to be drawn.
+     * @param viewX the left position of the viewport in the item coordinates.
+     * @param viewY the top position of the viewport in the item coordinates.
+     * @return true if the shape has been drawn, false if it must be drawn directly.
+     */
+    public boolean draw(RenderBackend rb, RenderItem item, double viewX, double viewY) {
+        if (item.shapeType != RenderItem.ShapeType.RECTANGLE && item.shapeType != RenderItem.ShapeType.ELLIPSE
+                || item.width > MAX_SPRITE_SIZE || item.height > MAX_SPRITE_SIZE
+                || item.width <= 0 || item.height <= 0
+                || item.fillColor == null && item.color == null) {
+            return false;
+        }
+        // position of the shape in the rendering buffer, split into pixel and sub-pixel parts.
+        double x = item.x - viewX;
+        double y = item.y - viewY;
+        int px = (int) Math.floor(x);
+        int py = (int) Math.floor(y);
+        int phaseX = Math.min((int) ((x - px) * SUBPIXEL_STEPS), SUBPIXEL_STEPS - 1);
+        int phaseY = Math.min((int) ((y - py) * SUBPIXEL_STEPS), SUBPIXEL_STEPS - 1);
+        lookup.set(item.shapeType, item.width, item.height, item.fillColor, item.color, phaseX, phaseY);
+        BufferedImage sprite = sprites.get(lookup);
+        if (sprite == null) {
+            sprite = rasterise(item, phaseX, phaseY);
+            sprites.put(new SpriteKey().set(item.shapeType, item.width, item.height, item.fillColor, item.color,
+                    phaseX, phaseY), sprite);
+            nbMisses++;
+        }
+        // draw in the buffer coordinates, at an integer position.
+        rb.translate(viewX, viewY);
+        rb.drawImage(sprite, px - MARGIN, py - MARGIN);
+        rb.translate(-viewX, -viewY);
+        return true;
+    }
+
+    private BufferedImage rasterise(RenderItem item, int phaseX, int phaseY) {
+        int w = (int) Math.ceil(item.width) + 1 + 2 * MARGIN;
+        int h = (int) Math.ceil(item.height) + 1 + 2 * MARGIN;
+        BufferedImage sprite = gconf != null
+                ? gconf.createCompatibleImage(w, h, Transparency.TRANSLUCENT)
+                : new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = sprite.createGraphics();
+        g.setRenderingHints(hints);
+        double sx = MARGIN + (phaseX + 0.5) / SUBPIXEL_STEPS;
+        double sy = MARGIN + (phaseY + 0.5) / SUBPIXEL_STEPS;
+        Shape shape;
+        if (item.shapeType == RenderItem.ShapeType.ELLIPSE) {
+            ellipse.setFrame(sx, sy, item.width, item.height);
+            shape = ellipse;
+        } else {
+            rect.setRect(sx, sy, item.width, item.height);
+            shape = rect;
+        }
+        if (item.fillColor != null) {
+            g.setColor(item.fillColor);
+            g.fill(shape);
+        }
+        if (item.color != null) {
+            g.setColor(item.color);
+            g.draw(shape);
+        }
+        g.dispose();
+        return sprite;
+    }
+
+    /**
+     * @return the number of sprites in the cache.
+     */
+    public int size() {
+        return sprites.size();
+    }
+
+    /**
+     * @return the number of sprites rasterised since the creation of the cache.
+     */
+    public long getMissCount() {
+        return nbMisses;
+    }
+}
@@ -0,0 +1,120 @@
+package com.snapgames.framework.render;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.font.GlyphVector;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import com.snapgames.framework.components.TextComponent;
+
+/**
+ * The {@link TextCache} keeps the layout of the text of each {@link TextComponent}: its measured
+ * size and its glyphs. A text is measured and laid out again only when its font or its formatted
+ * text changes (see {@link TextComponent#getVersion()}), so a static label or a score that changes a
+ * few times per second costs nothing on the other frames.
+ * <p>
+ * A {@link TextLayout} is never modified once created: it can be shared with the render thread,
+ * which draws its glyphs without any further layout. A mutable value must be set again on its
+ * component (not only modified) for the text to be updated.
+ * <p>
+ * The layouts are indexed on their component, and released with it.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class TextCache {
+
+    /**
+     * The layout of a text.
+     */
+    public static class TextLayout {
+        private final Font font;
+        private final int version;
+        private final GlyphVector glyphs;
+        private final int width;
+        private final int height;
+
+        private TextLayout(Font font, int version, GlyphVector glyphs, int width, int height) {
+            this.font = font;
+            this.version = version;
+            this.glyphs = glyphs;
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * @return the font of the text.
+         */
+        public Font getFont() {
+            return font;
+        }
+
+        /**
+         * @return the glyphs of the formatted text, laid out for the rendering context.
+         */
+        public GlyphVector getGlyphs() {
+            return glyphs;
+        }
+
+        /**
+         * @return the measured width of the text (in pixels).
+         */
+        public int getWidth() {
+            return width;
+        }
+
+        /**
+         * @return the measured height of the text (in pixels).
+         */
+        public int getHeight() {
+            return height;
+        }
+    }
+
+    private final Map<TextComponent, TextLayout> layouts = new WeakHashMap<>();
+    private final Graphics2D measure;
+    private long nbLayouts = 0;
+
+    /**
+     * Create a new {@link TextCache}.
+     *
+     * @param measure the graphics used to measure the texts, with the same text rendering hints as
+     *                the graphics the texts are drawn with.
+     */
+    public TextCache(Graphics2D measure) {
+        this.measure = measure;
+    }
+
+    /**
+     * Retrieve the layout of the text of a component, laying it out again if its font or its
+     * formatted text changed since the previous call.
+     *
+     * @param tc          the {@link TextComponent} to be laid out.
+     * @param defaultFont the font used when the component does not define one.
+     * @return the {@link TextLayout} of the text.
+     */
+    public TextLayout get(TextComponent tc, Font defaultFont) {
+        Font font = tc.getTextFont() != null ? tc.getTextFont() : defaultFont;
+        TextLayout layout = layouts.get(tc);
+        if (layout == null || layout.version != tc.getVersion() || !layout.font.equals(font)) {
+            char[] chars = tc.getChars();
+            int length = tc.getLength();
+            FontMetrics fm = measure.getFontMetrics(font);
+            layout = new TextLayout(font, tc.getVersion(),
+                    font.layoutGlyphVector(measure.getFontRenderContext(), chars, 0, length, Font.LAYOUT_LEFT_TO_RIGHT),
+                    fm.charsWidth(chars, 0, length), fm.getHeight());
+            layouts.put(tc, layout);
+            nbLayouts++;
+        }
+        return layout;
+    }
+
+    /**
+     * @return the number of texts laid out since the creation of the cache.
+     */
+    public long getLayoutCount() {
+        return nbLayouts;
+    }
+}
@@ -0,0 +1,89 @@
+package com.snapgames.framework.render;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A lock-free triple buffer between one producer thread and one consumer thread.
+ * <p>
+ * The producer fills the write buffer, then {@link #publish()}es it: it becomes the ready buffer,
+ * and the producer gets the previous ready one to write the next data. The consumer
+ * {@link #swap()}s its read buffer with the ready one when a new one is published. Neither thread
+ * ever waits for the other one: the producer never blocks, and a buffer published but not read
+ * yet is simply replaced by the next one (see {@link #getDroppedCount()}).
+ *
+ * @param <T> the type of the buffered data.
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class TripleBuffer<T> {
+    private static final int INDEX_MASK = 0x3;
+    private static final int FRESH = 0x4;
+
+    private final Object[] slots = new Object[3];
+    /**
+     * Index of the ready buffer, with the {@link #FRESH} flag set when it has not been read yet.
+     */
+    private final AtomicInteger ready = new AtomicInteger(2);
+    private int write = 0;
+    private int read = 1;
+    private long nbDropped = 0;
+
+    /**
+     * Create a new {@link TripleBuffer}.
+     *
+     * @param factory the factory creating the 3 buffers.
+     */
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = factory.get();
+        }
+    }
+
+    /**
+     * @return the buffer to be filled by the producer.
+     */
+    @SuppressWarnings("unchecked")
+    public T getWriteBuffer() {
+        return (T) slots[write];
+    }
+
+    /**
+     * Publish the write buffer to the consumer (producer thread only).
+     */
+    public void publish() {
+        int previous = ready.getAndSet(write | FRESH);
+        write = previous & INDEX_MASK;
+        if ((previous & FRESH) != 0) {
+            nbDropped++;
+        }
+    }
+
+    /**
+     * Get the last published buffer as the read buffer (consumer thread only).
+     *
+     * @return true if a new buffer has been published since the previous swap.
+     */
+    public boolean swap() {
+        if ((ready.get() & FRESH) == 0) {
+            return false;
+        }
+        read = ready.getAndSet(read) & INDEX_MASK;
+        return true;
+    }
+
+    /**
+     * @return the buffer to be read by the consumer.
+     */
+    @SuppressWarnings("unchecked")
+    public T getReadBuffer() {
+        return (T) slots[read];
+    }
+
+    /**
+     * @return the number of published buffers replaced before being read.
+     */
+    public long getDroppedCount() {
+        return nbDropped;
+    }
+}
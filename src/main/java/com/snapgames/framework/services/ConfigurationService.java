@@ -187,11 +187,110 @@ public class ConfigurationService extends AbstractService {
                 values.put("app.render.frame.rate", frameRate);
                 info(ConfigurationService.class, "Rendering frame rate set to %s", value);
             }
+            case "app.render.thread", "renderthread" -> {
+                boolean renderThread = Boolean.parseBoolean(value);
+                values.put("app.render.thread", renderThread);
+                info(ConfigurationService.class, "Rendering on a dedicated thread set to %s", value);
+            }
+            case "app.render.pipeline.latency", "latency" -> {
+                int latency = Integer.parseInt(value);
+                values.put("app.render.pipeline.latency", latency);
+                info(ConfigurationService.class, "Rendering pipeline max latency set to %s frames", value);
+            }
+            case "app.render.dirty.rectangles", "dirty" -> {
+                boolean dirtyRectangles = Boolean.parseBoolean(value);
+                values.put("app.render.dirty.rectangles", dirtyRectangles);
+                info(ConfigurationService.class, "Rendering of the changed regions only set to %s", value);
+            }
+            case "app.render.dirty.threshold", "dirtythreshold" -> {
+                double dirtyThreshold = Double.parseDouble(value);
+                values.put("app.render.dirty.threshold", dirtyThreshold);
+                info(ConfigurationService.class, "Rendering full redraw threshold set to %s of the buffer", value);
+            }
+            case "app.render.sprite.cache.size", "sprites" -> {
+                int spriteCacheSize = Integer.parseInt(value);
+                values.put("app.render.sprite.cache.size", spriteCacheSize);
+                info(ConfigurationService.class, "Rendering sprite cache size set to %s sprites", value);
+            }
+            case "app.render.debug.refresh.rate", "debugrate" -> {
+                double debugRefreshRate = Double.parseDouble(value);
+                values.put("app.render.debug.refresh.rate", debugRefreshRate);
+                info(ConfigurationService.class, "Rendering debug overlay refresh rate set to %s per second", value);
+            }
+            case "app.render.bands", "bands" -> {
+                int bands = Integer.parseInt(value);
+                values.put("app.render.bands", bands);
+                info(ConfigurationService.class, "Rendering buffer bands set to %s", value);
+            }
+            case "app.render.backend", "backend" -> {
+                values.put("app.render.backend", value);
+                info(ConfigurationService.class, "Rendering backend set to %s", value);
+            }
+            case "app.render.grid.chunk.size", "gridchunk" -> {
+                int gridChunkSize = Integer.parseInt(value);
+                values.put("app.render.grid.chunk.size", gridChunkSize);
+                info(ConfigurationService.class, "Rendering grid chunk images size set to %s pixels", value);
+            }
             case "app.physics.update.rate", "ups" -> {
                 double updateRate = Double.parseDouble(value);
                 values.put("app.physics.update.rate", updateRate);
                 info(ConfigurationService.class, "Physic Engine update rate set to %s", value);
             }
+            case "app.physic.broadphase.cell.size", "cellsize" -> {
+                double cellSize = Double.parseDouble(value);
+                values.put("app.physic.broadphase.cell.size", cellSize);
+                info(ConfigurationService.class, "Physic Engine broad phase cell size set to %s", value);
+            }
+            case "app.physic.solver.iterations", "iterations" -> {
+                int iterations = Integer.parseInt(value);
+                values.put("app.physic.solver.iterations", iterations);
+                info(ConfigurationService.class, "Physic Engine contact solver iterations set to %s", value);
+            }
+            case "app.physic.solver.threads", "solverthreads" -> {
+                int threads = Integer.parseInt(value);
+                values.put("app.physic.solver.threads", threads);
+                info(ConfigurationService.class, "Physic Engine contact solver threads set to %s", value);
+            }
+            case "app.physic.sleep.velocity", "sleepvelocity" -> {
+                double sleepVelocity = Double.parseDouble(value);
+                values.put("app.physic.sleep.velocity", sleepVelocity);
+                info(ConfigurationService.class, "Physic Engine sleep velocity threshold set to %s", value);
+            }
+            case "app.physic.sleep.time", "sleeptime" -> {
+                double sleepTime = Double.parseDouble(value);
+                values.put("app.physic.sleep.time", sleepTime);
+                info(ConfigurationService.class, "Physic Engine time before sleeping set to %s ms", value);
+            }
+            case "app.physic.deterministic", "deterministic" -> {
+                boolean deterministic = Boolean.parseBoolean(value);
+                values.put("app.physic.deterministic", deterministic);
+                info(ConfigurationService.class, "Physic Engine deterministic mode set to %s", value);
+            }
+            case "app.physic.random.seed", "seed" -> {
+                long seed = Long.parseLong(value);
+                values.put("app.physic.random.seed", seed);
+                info(ConfigurationService.class, "Random streams seed set to %s", value);
+            }
+            case "app.physic.world.chunk.size", "chunksize" -> {
+                double chunkSize = Double.parseDouble(value);
+                values.put("app.physic.world.chunk.size", chunkSize);
+                info(ConfigurationService.class, "World streaming chunk size set to %s", value);
+            }
+            case "app.physic.world.chunk.active.radius", "activeradius" -> {
+                int radius = Integer.parseInt(value);
+                values.put("app.physic.world.chunk.active.radius", radius);
+                info(ConfigurationService.class, "World streaming active radius set to %s chunks", value);
+            }
+            case "app.physic.world.chunk.stream.radius", "streamradius" -> {
+                int radius = Integer.parseInt(value);
+                values.put("app.physic.world.chunk.stream.radius", radius);
+                info(ConfigurationService.class, "World streaming stream radius set to %s chunks", value);
+            }
+            case "app.physic.world.chunk.low.rate", "lowrate" -> {
+                int lowRate = Integer.parseInt(value);
+                values.put("app.physic.world.chunk.low.rate", lowRate);
+                info(ConfigurationService.class, "World streaming low frequency update set to 1 step out of %s", value);
+            }
 
             default -> {
                 warn(ConfigurationService.class, "Unknown argument %s:%s", key, value);
@@ -1,11 +1,17 @@
 package com.snapgames.framework.services;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import com.snapgames.framework.App;
+import com.snapgames.framework.components.ForceFieldComponent;
+import com.snapgames.framework.components.PhysicComponent;
+import com.snapgames.framework.components.PhysicType;
 import com.snapgames.framework.entities.Entity;
+import com.snapgames.framework.entities.EntityListener;
 
 /**
  * The EntityManagerService class is responsible for managing a collection of {@link Entity}
@@ -24,10 +30,31 @@ public class EntityManagerService extends AbstractService {
     /**
      * A thread-safe collection of {@link Entity} instances, indexed by their unique names.
      * This map provides a mechanism for managing and retrieving {@link Entity} objects by name.
-     * The underlying implementation uses a {@link ConcurrentHashMap} to ensure thread safety,
-     * enabling concurrent access and modification of entities.
+     * The underlying implementation uses a {@link ConcurrentSkipListMap} to ensure thread safety,
+     * enabling concurrent access and modification of entities, and a stable iteration order (sorted
+     * on entity names, whatever the order they are added in) required by the deterministic simulation.
      */
-    private Map<String, Entity> entities = new ConcurrentHashMap<>();
+    private Map<String, Entity> entities = new ConcurrentSkipListMap<>();
+    /**
+     * The managed entities split in 2 subsets: the ones with a {@link PhysicType#STATIC}
+     * {@link PhysicComponent} (at the time they are added), and all the other ones, simulated
+     * on each physic step.
+     */
+    private Map<String, Entity> statics = new ConcurrentSkipListMap<>();
+    private Map<String, Entity> simulated = new ConcurrentSkipListMap<>();
+    /**
+     * The managed entities having a {@link ForceFieldComponent} (at the time they are added).
+     */
+    private Map<String, Entity> forceFields = new ConcurrentSkipListMap<>();
+    /**
+     * Incremented each time a static entity is added or removed, so that the pre-baked static
+     * structures are only rebuilt on change.
+     */
+    private int staticVersion = 0;
+    /**
+     * The listeners notified of each added or removed entity.
+     */
+    private final List<EntityListener> listeners = new CopyOnWriteArrayList<>();
 
     /**
      * Constructs a new EntityManagerService instance. This constructor initializes the service
@@ -87,7 +114,65 @@ public class EntityManagerService extends AbstractService {
      *          by its unique name, which is retrieved using {@link Entity#getName()}.
      */
     public void add(Entity e) {
-        this.entities.put(e.getName(), e);
+        Entity previous = this.entities.put(e.getName(), e);
+        if (previous != null) {
+            removeFromSubsets(previous);
+            listeners.forEach(l -> l.onEntityRemoved(previous));
+        }
+        if (isStatic(e)) {
+            statics.put(e.getName(), e);
+            staticVersion++;
+        } else {
+            simulated.put(e.getName(), e);
+        }
+        if (e.containsComponent(ForceFieldComponent.class)) {
+            forceFields.put(e.getName(), e);
+        }
+        listeners.forEach(l -> l.onEntityAdded(e));
+    }
+
+    /**
+     * Removes the specified {@link Entity} from the collection of managed entities.
+     *
+     * @param e the {@link Entity} to be removed.
+     */
+    public void remove(Entity e) {
+        if (this.entities.remove(e.getName(), e)) {
+            removeFromSubsets(e);
+            listeners.forEach(l -> l.onEntityRemoved(e));
+        }
+    }
+
+    private void removeFromSubsets(Entity e) {
+        forceFields.remove(e.getName(), e);
+        if (statics.remove(e.getName(), e)) {
+            staticVersion++;
+        } else {
+            simulated.remove(e.getName(), e);
+        }
+    }
+
+    private static boolean isStatic(Entity e) {
+        return e.containsComponent(PhysicComponent.class)
+                && e.<PhysicComponent>getComponent(PhysicComponent.class).getType() == PhysicType.STATIC;
+    }
+
+    /**
+     * Add a listener notified of each added or removed entity.
+     *
+     * @param listener the {@link EntityListener} to be added.
+     */
+    public void addListener(EntityListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove an entity listener.
+     *
+     * @param listener the {@link EntityListener} to be removed.
+     */
+    public void removeListener(EntityListener listener) {
+        listeners.remove(listener);
     }
 
     /**
@@ -109,6 +194,42 @@ public class EntityManagerService extends AbstractService {
         return entities.values();
     }
 
+    /**
+     * Retrieves the managed entities having a {@link PhysicType#STATIC} {@link PhysicComponent}.
+     * The physic type of an entity must be set before adding it to the manager.
+     *
+     * @return a {@link Collection} of the static {@link Entity} objects.
+     */
+    public Collection<Entity> getStaticEntities() {
+        return statics.values();
+    }
+
+    /**
+     * Retrieves all the managed entities but the static ones.
+     *
+     * @return a {@link Collection} of the non-static {@link Entity} objects.
+     */
+    public Collection<Entity> getSimulatedEntities() {
+        return simulated.values();
+    }
+
+    /**
+     * Retrieves the managed entities having a {@link ForceFieldComponent}.
+     * The component must be set before adding the entity to the manager.
+     *
+     * @return a {@link Collection} of the force field {@link Entity} objects.
+     */
+    public Collection<Entity> getForceFields() {
+        return forceFields.values();
+    }
+
+    /**
+     * @return the version of the static entities set, changed each time a static entity is added or removed.
+     */
+    public int getStaticVersion() {
+        return staticVersion;
+    }
+
     /**
      * Adds a collection of {@link Entity} objects to the collection of managed entities.
      *
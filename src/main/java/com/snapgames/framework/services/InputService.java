@@ -3,6 +3,7 @@ package com.snapgames.framework.services;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -22,6 +23,23 @@ import com.snapgames.framework.io.InputListener;
 public class InputService extends AbstractService implements KeyListener {
 
     private final boolean[] keys = new boolean[1024];
+    /**
+     * In deterministic mode, the key states only change at the start of a physic step: all the
+     * reads of a step see the same inputs, whatever the keyboard events received meanwhile.
+     */
+    private final boolean[] stepKeys = new boolean[1024];
+    /**
+     * The key changes received since the last physic step, keyboard events and injected ones,
+     * each encoded as <code>vkCode &lt;&lt; 1 | pressed</code>.
+     */
+    private int[] pendingInputs = new int[64];
+    private int nbPendingInputs = 0;
+    /**
+     * The key changes applied at the start of the current physic step.
+     */
+    private int[] stepInputs = new int[64];
+    private int nbStepInputs = 0;
+    private PhysicEngineService pes;
     private long nbPressedKeys = 0;
     private long nbGetKeys = 0;
     private long nbEvents = 0;
@@ -49,7 +67,11 @@ public class InputService extends AbstractService implements KeyListener {
     @Override
     public void init(App app, String[] args) {
         RenderingService rs = app.getService(RenderingService.class.getSimpleName());
-        rs.addListener(this);
+        if (rs != null) {
+            // without window, the keys are only set by the injected inputs.
+            rs.addListener(this);
+        }
+        pes = app.getService(PhysicEngineService.class.getSimpleName());
     }
 
     @Override
@@ -74,16 +96,95 @@ public class InputService extends AbstractService implements KeyListener {
     }
 
     /**
-     * Retrieve pressed status for the requested key code.
+     * Retrieve pressed status for the requested key code. In deterministic mode, the status is
+     * the one set by the key changes applied at the start of the current physic step.
      *
      * @param vkCode the key code to be checked.
      * @return true if pressed.
      */
     public boolean isKeyPressed(int vkCode) {
         nbGetKeys++;
+        if (isDeterministic()) {
+            return stepKeys[vkCode];
+        }
         return keys[vkCode];
     }
 
+    /**
+     * Set the status of a key, as received from a remote peer or read from a replay: with the
+     * deterministic mode, only the inputs need to be exchanged to reproduce a simulation. Like the
+     * keyboard events, the change is applied at the start of the next physic step.
+     *
+     * @param vkCode  the key code to be set.
+     * @param pressed true if the key is pressed.
+     */
+    public void setKeyPressed(int vkCode, boolean pressed) {
+        keys[vkCode] = pressed;
+        queueInput(vkCode, pressed);
+    }
+
+    private boolean isDeterministic() {
+        return pes != null && pes.isDeterministic();
+    }
+
+    /**
+     * Queue a key change until the next physic step, in deterministic mode only: otherwise, the
+     * keys are read as they are.
+     */
+    private void queueInput(int vkCode, boolean pressed) {
+        if (!isDeterministic()) {
+            return;
+        }
+        synchronized (this) {
+            if (nbPendingInputs == pendingInputs.length) {
+                pendingInputs = Arrays.copyOf(pendingInputs, nbPendingInputs * 2);
+            }
+            pendingInputs[nbPendingInputs++] = vkCode << 1 | (pressed ? 1 : 0);
+        }
+    }
+
+    /**
+     * Apply the key changes queued since the previous physic step, in their reception order.
+     * Called by the {@link PhysicEngineService} at the start of each step, before its step listeners.
+     */
+    void applyInputs() {
+        synchronized (this) {
+            if (stepInputs.length < nbPendingInputs) {
+                stepInputs = new int[pendingInputs.length];
+            }
+            System.arraycopy(pendingInputs, 0, stepInputs, 0, nbPendingInputs);
+            nbStepInputs = nbPendingInputs;
+            nbPendingInputs = 0;
+        }
+        for (int i = 0; i < nbStepInputs; i++) {
+            stepKeys[stepInputs[i] >> 1] = (stepInputs[i] & 1) != 0;
+        }
+    }
+
+    /**
+     * @return the number of key changes applied at the start of the current physic step, to be
+     * sent to the remote peers or recorded for a replay.
+     */
+    public int getStepInputCount() {
+        return nbStepInputs;
+    }
+
+    /**
+     * @param i the index of the key change
+     * @return the key code of the <code>i</code>th key change applied at the start of the current physic step.
+     */
+    public int getStepInputKey(int i) {
+        return stepInputs[i] >> 1;
+    }
+
+    /**
+     * @param i the index of the key change
+     * @return true if the <code>i</code>th key change applied at the start of the current physic step is a key press.
+     */
+    public boolean isStepInputPressed(int i) {
+        return (stepInputs[i] & 1) != 0;
+    }
+
     /**
      * Handles the keyTyped event triggered when a key is typed. This method
      * updates the internal counter for the number of key events processed.
@@ -105,6 +206,7 @@ public class InputService extends AbstractService implements KeyListener {
     @Override
     public void keyPressed(KeyEvent e) {
         keys[e.getKeyCode()] = true;
+        queueInput(e.getKeyCode(), true);
         nbEvents++;
         nbPressedKeys++;
         listeners.forEach(il -> il.onKeyPressed(app, e));
@@ -121,6 +223,7 @@ public class InputService extends AbstractService implements KeyListener {
     @Override
     public void keyReleased(KeyEvent e) {
         keys[e.getKeyCode()] = false;
+        queueInput(e.getKeyCode(), false);
         nbEvents++;
         listeners.forEach(il -> il.onKeyReleased(app, e));
     }
@@ -2,19 +2,34 @@ package com.snapgames.framework.services;
 
 import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.snapgames.framework.App;
+import com.snapgames.framework.components.ForceFieldComponent;
+import com.snapgames.framework.components.ForceFieldType;
 import com.snapgames.framework.components.GraphicComponent;
 import com.snapgames.framework.components.PhysicComponent;
+import com.snapgames.framework.components.PhysicType;
 import com.snapgames.framework.components.TargetComponent;
 import com.snapgames.framework.entities.Camera;
 import com.snapgames.framework.entities.Entity;
 import com.snapgames.framework.entities.World;
+import com.snapgames.framework.math.RandomStreams;
 import com.snapgames.framework.math.Vector2d;
+import com.snapgames.framework.physic.Collisions;
+import com.snapgames.framework.physic.Contact;
+import com.snapgames.framework.physic.ContactSolver;
+import com.snapgames.framework.physic.QueryResult;
+import com.snapgames.framework.physic.SpatialGrid;
+import com.snapgames.framework.physic.StepListener;
+import com.snapgames.framework.physic.TriggerEvents;
+import com.snapgames.framework.physic.TriggerTracker;
 
 /**
  * PhysicEngineService is responsible for managing and updating the physics
@@ -63,6 +78,10 @@ public class PhysicEngineService extends AbstractService {
      * defined by a {@link Rectangle2D.Double} with width 320 and height 200.
      */
     private World world = new World(new Vector2d(0, -0.981), new Rectangle2D.Double(0, 0, 320, 200));
+    /**
+     * The {@link PhysicComponent} of the {@link World}, defining its play area bounding box.
+     */
+    private final PhysicComponent worldPC = world.getComponent(PhysicComponent.class);
 
 
     static double cumulated = 0;
@@ -70,6 +89,111 @@ public class PhysicEngineService extends AbstractService {
 
     double UPS = 120.0;
 
+    /**
+     * The broad phase spatial grid, rebuilt on each physic step from the bounding boxes
+     * of all the colliding bodies, to find the pairs of bodies to be checked by the narrow phase.
+     */
+    private SpatialGrid grid = new SpatialGrid(32.0);
+    /**
+     * The contact solver running the narrow phase and resolving the collisions with impulses,
+     * keeping contacts persistent across steps for warm-starting.
+     */
+    private ContactSolver solver = new ContactSolver(4);
+    /**
+     * Maximum value for each component of the acceleration and of the velocity of a body.
+     */
+    private double maxAcceleration = 2.0;
+    private double maxVelocity = 4.0;
+    /**
+     * The list of entities taking part in the collision detection during the current step,
+     * and their corresponding {@link PhysicComponent} (same index).
+     */
+    private final List<Entity> bodies = new ArrayList<>();
+    /**
+     * A scratch {@link Contact} used to probe collisions against sleeping bodies.
+     */
+    private final Contact probe = new Contact();
+    private final List<PhysicComponent> bodyComponents = new ArrayList<>();
+
+    /**
+     * The pre-baked {@link PhysicType#STATIC} bodies and their grid, rebuilt only when the set of
+     * static entities changes (see {@link EntityManagerService#getStaticVersion()}). Static bodies
+     * are not iterated on each step: only the dynamic bodies query this grid.
+     */
+    private final List<Entity> staticBodies = new ArrayList<>();
+    private final List<PhysicComponent> staticComponents = new ArrayList<>();
+    private SpatialGrid staticGrid = new SpatialGrid(32.0);
+    private int staticVersion = -1;
+
+    /**
+     * The sleeping bodies, and the spatial grid they are registered into. This grid is only
+     * rebuilt when a body falls asleep or is woken up, so resting bodies cost nothing to the
+     * broad phase while the awake ones can still hit (and wake) them.
+     */
+    private final List<Entity> sleepers = new ArrayList<>();
+    private final List<PhysicComponent> sleeperComponents = new ArrayList<>();
+    private SpatialGrid sleepGrid = new SpatialGrid(32.0);
+    private boolean sleepersChanged = false;
+    /**
+     * The velocity threshold (in pixels per millisecond) under which a body is considered at rest,
+     * and the time (in milliseconds) a whole island must stay at rest before falling asleep.
+     */
+    private double sleepVelocity = 0.005;
+    private double sleepTime = 500.0;
+    /**
+     * Union-find storage used to build the simulation islands from the contacts of the current step.
+     */
+    private int[] islandParent = new int[64];
+    private double[] islandRestTime = new double[64];
+    private PhysicComponent[] islandHead = new PhysicComponent[64];
+    /**
+     * Number of physic steps processed so far, used to spread the updates of the bodies
+     * having a tick interval greater than 1 (see {@link PhysicComponent#getTickInterval()}).
+     */
+    private long stepCount = 0;
+    /**
+     * Deterministic (lockstep) mode: the simulation always steps with a fixed delta of
+     * <code>1000 / UPS</code> milliseconds, catching up at most {@link #MAX_CATCH_UP_STEPS} steps per call,
+     * the step listeners being called at the start of each step. Two instances fed with the same
+     * inputs on the same steps produce the same state.
+     */
+    private boolean deterministic = false;
+    private static final int MAX_CATCH_UP_STEPS = 5;
+    private final List<StepListener> stepListeners = new CopyOnWriteArrayList<>();
+    /**
+     * The input service whose queued key changes are applied at the start of each step (may be null).
+     */
+    private InputService input;
+    /**
+     * The seeded random streams to be used by the game code instead of {@link Math#random()}.
+     */
+    private RandomStreams randomStreams = new RandomStreams(42L);
+    /**
+     * The bullet bodies of the current step (see {@link PhysicComponent#isBullet()}): their index into
+     * the bodies of the step and their position before integration, used by the continuous collision
+     * detection.
+     */
+    private int bulletCount = 0;
+    private int[] bulletIndex = new int[16];
+    private double[] bulletStartX = new double[16];
+    private double[] bulletStartY = new double[16];
+    private int nbImpacts = 0;
+    /**
+     * The overlaps between trigger bodies and the other bodies, and the resulting events of the
+     * current frame (see {@link #getTriggerEvents()}).
+     */
+    private final TriggerTracker triggers = new TriggerTracker();
+    /**
+     * The active force fields of the current step (see {@link ForceFieldComponent}), with their area
+     * and the spatial grid the bodies query to find the fields they overlap. Fields are few and may
+     * move: the grid is rebuilt on each step.
+     */
+    private final List<ForceFieldComponent> fields = new ArrayList<>();
+    private final List<PhysicComponent> fieldAreas = new ArrayList<>();
+    private SpatialGrid fieldGrid = new SpatialGrid(64.0);
+    private int pendingExplosions = 0;
+    private int nbFieldHits = 0;
+
     /**
      * Creates an instance of the PhysicEngineService to manage physics-related
      * computations and updates for the application.
@@ -102,40 +226,108 @@ public class PhysicEngineService extends AbstractService {
         world.setGravity(config.getValue("app.physic.world.gravity"));
         world.setPlayArea(config.getValue("app.physic.world.play.area"));
         eMgr = app.getService(EntityManagerService.class.getSimpleName());
+        input = app.getService(InputService.class.getSimpleName());
         UPS = config.getValue("app.physics.update.rate");
+        grid = new SpatialGrid(config.getValue("app.physic.broadphase.cell.size"));
+        sleepGrid = new SpatialGrid(grid.getCellSize());
+        staticGrid = new SpatialGrid(grid.getCellSize());
+        sleepVelocity = config.getValue("app.physic.sleep.velocity");
+        sleepTime = config.getValue("app.physic.sleep.time");
+        solver.setIterations(config.getValue("app.physic.solver.iterations"));
+        solver.setThreads(config.getValue("app.physic.solver.threads"));
+        deterministic = config.getValue("app.physic.deterministic");
+        randomStreams = new RandomStreams(config.<Long>getValue("app.physic.random.seed"));
         currentTime = System.currentTimeMillis();
     }
 
     /**
      * Processes the physics-related updates for the application, including entity
      * behaviors and camera adjustments, based on elapsed time since the last update.
+     * <p>
+     * In deterministic mode, the elapsed time is consumed by fixed steps; the remaining time
+     * beyond {@link #MAX_CATCH_UP_STEPS} steps is dropped, slowing the simulation down instead of
+     * falling behind.
      *
      * @param app the main application instance providing access to services, resources,
      *            and the scene manager for physics updates.
      */
     @Override
     public void process(App app) {
+        // the trigger events have been read by the scene update of the previous frame.
+        triggers.clearEvents();
         long previousTime = currentTime;
-        nbUpdatedObjects = 0;
-        List<Entity> allEntities = collectAllEntities(eMgr.getEntities());
         currentTime = System.currentTimeMillis();
         double elapsed = currentTime - previousTime;
         cumulated += elapsed;
-        if (cumulated > 1000.0 / UPS) {
-            allEntities.stream().forEach(e -> {
-                updateEntity(elapsed, e);
-                nbUpdatedObjects++;
-            });
-            SceneManagerService scnMgr = app.getService(SceneManagerService.class.getSimpleName());
-            if (Optional.ofNullable(scnMgr.getCurrentScene()).isPresent()
-                    && Optional.ofNullable(scnMgr.getCurrentScene().getCamera()).isPresent()) {
-                Camera cam = scnMgr.getCurrentScene().getCamera();
-                processCamera(cam, elapsed);
+        if (deterministic) {
+            double stepTime = getStepTime();
+            int nbSteps = 0;
+            while (cumulated >= stepTime && nbSteps < MAX_CATCH_UP_STEPS) {
+                step(app, stepTime, stepTime);
+                cumulated -= stepTime;
+                nbSteps++;
+            }
+            if (nbSteps == MAX_CATCH_UP_STEPS) {
+                cumulated = 0;
             }
+        } else if (cumulated > 1000.0 / UPS) {
+            step(app, elapsed, cumulated);
             cumulated = 0;
         }
     }
 
+    /**
+     * Process one physic step.
+     *
+     * @param app      the main application instance.
+     * @param elapsed  the elapsed time used by the integration (in milliseconds).
+     * @param stepTime the time covered by this step (in milliseconds).
+     */
+    void step(App app, double elapsed, double stepTime) {
+        if (deterministic && input != null) {
+            input.applyInputs();
+        }
+        for (StepListener sl : stepListeners) {
+            sl.onStep(app, stepCount, stepTime);
+        }
+        nbUpdatedObjects = 0;
+        List<Entity> allEntities = collectAllEntities(eMgr.getSimulatedEntities());
+        bodies.clear();
+        bodyComponents.clear();
+        bulletCount = 0;
+        if (eMgr.getStaticVersion() != staticVersion) {
+            bakeStatics();
+        }
+        prepareForceFields();
+        allEntities.stream().forEach(e -> {
+            updateEntity(elapsed, e);
+            nbUpdatedObjects++;
+        });
+        releaseExplosions();
+        resolveCollisions();
+        for (int i = 0; i < bodies.size(); i++) {
+            PhysicComponent pc = bodyComponents.get(i);
+            if (pc.getType() != PhysicType.DYNAMIC) {
+                continue;
+            }
+            if (isBodyTurn(bodies.get(i), pc)) {
+                finalizeBody(bodies.get(i), pc);
+            } else {
+                // not integrated: only moved by the contacts.
+                GraphicComponent gc = bodies.get(i).getComponent(GraphicComponent.class);
+                gc.update(pc.getPosition(), pc.getSize());
+            }
+        }
+        updateIslands(stepTime);
+        SceneManagerService scnMgr = app.getService(SceneManagerService.class.getSimpleName());
+        if (Optional.ofNullable(scnMgr.getCurrentScene()).isPresent()
+                && Optional.ofNullable(scnMgr.getCurrentScene().getCamera()).isPresent()) {
+            Camera cam = scnMgr.getCurrentScene().getCamera();
+            processCamera(cam, elapsed);
+        }
+        stepCount++;
+    }
+
     /**
      * Adjusts the camera's position to smoothly follow its target entity based on the
      * target's position, size, and the defined tweening factor. This computation also
@@ -188,25 +380,51 @@ public class PhysicEngineService extends AbstractService {
 
             switch (pc.getType()) {
                 case DYNAMIC -> {
-                    applyWorldRules(pc, world);
+                    if (pendingExplosions > 0) {
+                        // explosion impulses are kept until the body turn, and wake it up.
+                        applyForceFields(pc, true);
+                    }
+                    if (pc.isSleeping()) {
+                        // a sleeping body waits for a contact or a force to wake it up.
+                        return;
+                    }
+                    if (pc.getIslandNext() != null) {
+                        // woken up by an applied force: wake up all its island.
+                        wakeIsland(pc, false);
+                    }
+                    if (!isBodyTurn(e, pc)) {
+                        // frozen body, or low frequency body waiting for its turn: like a sleeping
+                        // one, it still collides, without being integrated.
+                        addBody(e, pc);
+                        return;
+                    }
+                    int interval = pc.getTickInterval();
+                    double dt = elapsed * interval;
+                    if (pc.isBullet()) {
+                        registerBullet(pc);
+                    }
+                    pc.applyForceGenerators(dt);
+                    if (!fields.isEmpty()) {
+                        applyForceFields(pc, false);
+                    }
+                    boolean gravity = applyWorldRules(pc, world);
 
-                    pc.setAcceleration(new Vector2d().addAll(pc.getForces()).multiply(1.0 / pc.getMass()).maximize(2.0));
-                    pc.setVelocity(pc.getVelocity().add(pc.getAcceleration().multiply(0.5 * elapsed)).maximize(4.0));
-                    pc.setPosition(pc.getPosition().add(pc.getVelocity().multiply(elapsed)));
+                    Vector2d forces = new Vector2d(pc.getForceX(), pc.getForceY());
+                    if (gravity) {
+                        forces = forces.add(world.getGravity());
+                    }
+                    double invMass = 1.0 / pc.getMass();
+                    pc.setAcceleration(forces.multiply(invMass).maximize(maxAcceleration));
+                    pc.setVelocity(pc.getVelocity().add(new Vector2d(pc.getImpulseX(), pc.getImpulseY()).multiply(invMass))
+                            .add(pc.getAcceleration().multiply(0.5 * dt)).maximize(maxVelocity));
+                    pc.setPosition(pc.getPosition().add(pc.getVelocity().multiply(dt)));
+                    pc.clearForces();
 
-                    constrainToWorldArea(pc, world);
-
-                    // apply Material roughness on velocity
-                    pc.setVelocity(pc.getVelocity().multiply(pc.getMaterial().getRoughness()));
-
-                    // update the corresponding Entity's GraphicComponent shape for rendering.
-                    GraphicComponent gc = e.getComponent(GraphicComponent.class);
-                    gc.update(pc.getPosition(), pc.getSize());
-
-                    pc.getForces().clear();
+                    addBody(e, pc);
                 }
                 case STATIC -> {
-                    // TODO define processing for static entity
+                    // entity turned static after being added to the manager: only takes part in collisions.
+                    addBody(e, pc);
                 }
                 default -> {
                     // TODO define default processing (if any)
@@ -216,19 +434,487 @@ public class PhysicEngineService extends AbstractService {
     }
 
     /**
-     * Apply all {@link World} rules: apply all world forces on any contained
-     * {@link Entity}'s {@link PhysicComponent}.
+     * A body is integrated on each step, unless it is frozen (a tick interval of 0) or a low
+     * frequency body, integrated once every tick interval steps.
+     *
+     * @param e  the {@link Entity} of the body.
+     * @param pc its {@link PhysicComponent}.
+     * @return true if the body is integrated on the current step.
+     */
+    private boolean isBodyTurn(Entity e, PhysicComponent pc) {
+        int interval = pc.getTickInterval();
+        return interval == 1 || interval > 1 && (stepCount + e.getId()) % interval == 0;
+    }
+
+    /**
+     * Register an {@link Entity} to take part in the collision detection of the current step.
+     *
+     * @param e  the {@link Entity} to be registered.
+     * @param pc its {@link PhysicComponent}.
+     */
+    private void addBody(Entity e, PhysicComponent pc) {
+        bodies.add(e);
+        bodyComponents.add(pc);
+    }
+
+    /**
+     * Register the active force fields into the force field grid.
+     */
+    private void prepareForceFields() {
+        fields.clear();
+        fieldAreas.clear();
+        fieldGrid.clear();
+        pendingExplosions = 0;
+        nbFieldHits = 0;
+        for (Entity e : eMgr.getForceFields()) {
+            ForceFieldComponent ffc = e.getComponent(ForceFieldComponent.class);
+            if (!e.isActive() || !ffc.isActive() || !e.containsComponent(PhysicComponent.class)) {
+                continue;
+            }
+            PhysicComponent area = e.getComponent(PhysicComponent.class);
+            Rectangle2D b = area.getBBox();
+            fields.add(ffc);
+            fieldAreas.add(area);
+            fieldGrid.add(b.getX(), b.getY(), b.getWidth(), b.getHeight());
+            if (ffc.getType() == ForceFieldType.EXPLOSION) {
+                pendingExplosions++;
+            }
+        }
+        fieldGrid.build();
+    }
+
+    /**
+     * Apply the force fields overlapping the center of a body.
+     *
+     * @param pc         the {@link PhysicComponent} of the body.
+     * @param explosions true to apply only the explosion fields, false to apply only the continuous ones.
+     */
+    private void applyForceFields(PhysicComponent pc, boolean explosions) {
+        double cx = pc.getPosition().x + pc.getSize().x * 0.5;
+        double cy = pc.getPosition().y + pc.getSize().y * 0.5;
+        int nbFound = fieldGrid.query(cx, cy, cx, cy);
+        for (int k = 0; k < nbFound; k++) {
+            int f = fieldGrid.getQueryResult(k);
+            ForceFieldComponent ffc = fields.get(f);
+            if ((ffc.getType() == ForceFieldType.EXPLOSION) != explosions) {
+                continue;
+            }
+            Rectangle2D area = fieldAreas.get(f).getBBox();
+            double dx = cx - area.getCenterX();
+            double dy = cy - area.getCenterY();
+            double d = Math.sqrt(dx * dx + dy * dy);
+            double radius = 0.5 * Math.min(area.getWidth(), area.getHeight());
+            if (radius <= 0 || ffc.getType() != ForceFieldType.WIND && (d > radius || d == 0)) {
+                continue;
+            }
+            double s = ffc.getStrength() * ffc.getFalloff().factor(d / radius);
+            switch (ffc.getType()) {
+                case WIND -> pc.applyForce(ffc.getDirection().x * s, ffc.getDirection().y * s);
+                case ATTRACTOR -> pc.applyForce(-dx / d * s, -dy / d * s);
+                case EXPLOSION -> pc.applyImpulse(dx / d * s, dy / d * s);
+            }
+            nbFieldHits++;
+        }
+    }
+
+    /**
+     * Deactivate the explosion fields applied during this step.
+     */
+    private void releaseExplosions() {
+        for (int i = 0; i < fields.size() && pendingExplosions > 0; i++) {
+            if (fields.get(i).getType() == ForceFieldType.EXPLOSION) {
+                fields.get(i).setActive(false);
+            }
+        }
+        pendingExplosions = 0;
+    }
+
+    /**
+     * Register all the static entities into the static bodies grid.
+     */
+    private void bakeStatics() {
+        staticBodies.clear();
+        staticComponents.clear();
+        staticGrid.clear();
+        for (Entity e : eMgr.getStaticEntities()) {
+            PhysicComponent pc = e.getComponent(PhysicComponent.class);
+            if (!pc.isColliding()) {
+                continue;
+            }
+            Rectangle2D b = pc.getBBox();
+            staticBodies.add(e);
+            staticComponents.add(pc);
+            staticGrid.add(b.getX(), b.getY(), b.getWidth(), b.getHeight());
+        }
+        staticGrid.build();
+        staticVersion = eMgr.getStaticVersion();
+    }
+
+    /**
+     * Keep the index and the position before integration of a bullet body.
+     *
+     * @param pc the {@link PhysicComponent} of the bullet body, to be registered by {@link #addBody(Entity, PhysicComponent)}.
+     */
+    private void registerBullet(PhysicComponent pc) {
+        if (bulletCount == bulletIndex.length) {
+            int n = bulletCount * 2;
+            bulletIndex = Arrays.copyOf(bulletIndex, n);
+            bulletStartX = Arrays.copyOf(bulletStartX, n);
+            bulletStartY = Arrays.copyOf(bulletStartY, n);
+        }
+        bulletIndex[bulletCount] = bodies.size();
+        bulletStartX[bulletCount] = pc.getPosition().x;
+        bulletStartY[bulletCount] = pc.getPosition().y;
+        bulletCount++;
+    }
+
+    /**
+     * Continuous collision detection for the bullet bodies: the whole movement of each bullet during
+     * the step is swept against the bodies overlapping its swept bounding box (see
+     * {@link Collisions#sweep(PhysicComponent, double, double, PhysicComponent, Contact)}). On the
+     * first impact, the bullet is moved back to the time of impact along the normal, keeping its
+     * tangential movement, and an impulse is applied on both bodies along the normal.
+     * <p>
+     * Bullets moving less than half their size during the step are left to the discrete test, and
+     * the other bodies are considered at rest at their end position.
+     */
+    private void sweepBullets() {
+        for (int k = 0; k < bulletCount; k++) {
+            int i = bulletIndex[k];
+            PhysicComponent pc = bodyComponents.get(i);
+            double sx = bulletStartX[k], sy = bulletStartY[k];
+            Vector2d p = pc.getPosition();
+            Vector2d size = pc.getSize();
+            double dx = p.x - sx, dy = p.y - sy;
+            if (!pc.isColliding() || pc.isTrigger() || Math.abs(dx) < size.x * 0.5 && Math.abs(dy) < size.y * 0.5) {
+                continue;
+            }
+            double x0 = Math.min(sx, p.x), y0 = Math.min(sy, p.y);
+            double x1 = Math.max(sx, p.x) + size.x, y1 = Math.max(sy, p.y) + size.y;
+
+            double toi = 1.0, nx = 0, ny = 0;
+            PhysicComponent hit = null;
+            boolean hitSleeping = false;
+            int nbFound = grid.query(x0, y0, x1, y1);
+            for (int j = 0; j < nbFound; j++) {
+                int b = grid.getQueryResult(j);
+                PhysicComponent other = bodyComponents.get(b);
+                if (b == i || other.isTrigger() || other.getInverseMass() + pc.getInverseMass() == 0.0
+                        || !Collisions.canCollide(pc, other)) {
+                    continue;
+                }
+                double t = Collisions.sweep(pc, sx, sy, other, probe);
+                if (t >= 0 && t < toi) {
+                    toi = t;
+                    nx = probe.getNormalX();
+                    ny = probe.getNormalY();
+                    hit = other;
+                }
+            }
+            nbFound = staticGrid.query(x0, y0, x1, y1);
+            for (int j = 0; j < nbFound; j++) {
+                PhysicComponent other = staticComponents.get(staticGrid.getQueryResult(j));
+                double t = !other.isTrigger() && Collisions.canCollide(pc, other)
+                        ? Collisions.sweep(pc, sx, sy, other, probe) : -1;
+                if (t >= 0 && t < toi) {
+                    toi = t;
+                    nx = probe.getNormalX();
+                    ny = probe.getNormalY();
+                    hit = other;
+                }
+            }
+            nbFound = sleepers.isEmpty() ? 0 : sleepGrid.query(x0, y0, x1, y1);
+            for (int j = 0; j < nbFound; j++) {
+                PhysicComponent other = sleeperComponents.get(sleepGrid.getQueryResult(j));
+                double t = other.isSleeping() && !other.isTrigger() && Collisions.canCollide(pc, other)
+                        ? Collisions.sweep(pc, sx, sy, other, probe) : -1;
+                if (t >= 0 && t < toi) {
+                    toi = t;
+                    nx = probe.getNormalX();
+                    ny = probe.getNormalY();
+                    hit = other;
+                    hitSleeping = true;
+                }
+            }
+            if (hit != null) {
+                if (hitSleeping) {
+                    wakeIsland(hit, true);
+                }
+                // back to the time of impact along the normal, the tangential movement is kept.
+                double dn = (dx * nx + dy * ny) * (1.0 - toi);
+                pc.setPosition(p.set(p.x - nx * dn, p.y - ny * dn));
+
+                double invA = pc.getInverseMass();
+                double invB = hit.getInverseMass();
+                Vector2d va = pc.getVelocity();
+                Vector2d vb = hit.getVelocity();
+                double vn = (vb.x - va.x) * nx + (vb.y - va.y) * ny;
+                if (vn < 0) {
+                    double e = Math.max(pc.getMaterial().getElasticity(), hit.getMaterial().getElasticity());
+                    double j = -(1.0 + e) * vn / (invA + invB);
+                    va.set(va.x - nx * j * invA, va.y - ny * j * invA);
+                    vb.set(vb.x + nx * j * invB, vb.y + ny * j * invB);
+                }
+                nbImpacts++;
+            }
+        }
+    }
+
+    /**
+     * Detect and resolve collisions between all the registered bodies: the broad phase
+     * {@link SpatialGrid} provides the pairs of overlapping bounding boxes, and the
+     * {@link ContactSolver} runs the narrow phase on each pair and resolves the resulting contacts.
+     */
+    private void resolveCollisions() {
+        grid.clear();
+        for (int i = 0; i < bodyComponents.size(); i++) {
+            PhysicComponent pc = bodyComponents.get(i);
+            if (pc.isColliding()) {
+                Rectangle2D b = pc.getBBox();
+                grid.add(b.getX(), b.getY(), b.getWidth(), b.getHeight());
+            } else {
+                // layers colliding with nothing are kept out of the broad phase.
+                grid.skip();
+            }
+        }
+        grid.build();
+        if (sleepersChanged) {
+            rebuildSleepers();
+        }
+        sweepBullets();
+        int nbBodies = bodies.size();
+        int nbPairs = grid.findPairs();
+        solver.begin();
+        triggers.begin(stepCount);
+        for (int i = 0; i < nbPairs; i++) {
+            int a = grid.getPairA(i);
+            int b = grid.getPairB(i);
+            PhysicComponent pa = bodyComponents.get(a);
+            PhysicComponent pb = bodyComponents.get(b);
+            if (pa.isTrigger() || pb.isTrigger()) {
+                triggers.overlap(bodies.get(a), pa, bodies.get(b), pb);
+            } else {
+                solver.collide(a, bodies.get(a).getId(), pa, b, bodies.get(b).getId(), pb);
+            }
+        }
+        // awake dynamic bodies against the pre-baked static ones.
+        for (int i = 0; i < nbBodies && !staticBodies.isEmpty(); i++) {
+            PhysicComponent pc = bodyComponents.get(i);
+            if (pc.getType() != PhysicType.DYNAMIC || !pc.isColliding()) {
+                continue;
+            }
+            Rectangle2D b = pc.getBBox();
+            int nbFound = staticGrid.query(b.getMinX(), b.getMinY(), b.getMaxX(), b.getMaxY());
+            for (int k = 0; k < nbFound; k++) {
+                int s = staticGrid.getQueryResult(k);
+                PhysicComponent spc = staticComponents.get(s);
+                if (pc.isTrigger() || spc.isTrigger()) {
+                    triggers.overlap(bodies.get(i), pc, staticBodies.get(s), spc);
+                } else {
+                    solver.collide(i, bodies.get(i).getId(), pc, -1, staticBodies.get(s).getId(), spc);
+                }
+            }
+        }
+        // awake bodies against sleeping ones: a real contact wakes the sleeping island up.
+        for (int i = 0; i < nbBodies && !sleepers.isEmpty(); i++) {
+            PhysicComponent pc = bodyComponents.get(i);
+            if (pc.getType() != PhysicType.DYNAMIC || !pc.isColliding()) {
+                continue;
+            }
+            Rectangle2D b = pc.getBBox();
+            int nbFound = sleepGrid.query(b.getMinX(), b.getMinY(), b.getMaxX(), b.getMaxY());
+            for (int k = 0; k < nbFound; k++) {
+                int s = sleepGrid.getQueryResult(k);
+                PhysicComponent spc = sleeperComponents.get(s);
+                if (spc.isSleeping() && (pc.isTrigger() || spc.isTrigger())) {
+                    // a trigger never wakes a sleeping body up.
+                    triggers.overlap(bodies.get(i), pc, sleepers.get(s), spc);
+                } else if (spc.isSleeping() && Collisions.canCollide(pc, spc) && Collisions.collide(pc, spc, probe)) {
+                    int index = bodies.size();
+                    wakeIsland(spc, true);
+                    solver.collide(i, bodies.get(i).getId(), pc, index, sleepers.get(s).getId(), spc);
+                }
+            }
+        }
+        triggers.end();
+        solver.solve();
+    }
+
+    /**
+     * Wake up all the bodies of the sleeping island <code>pc</code> belongs to.
+     *
+     * @param pc       one body of the sleeping island.
+     * @param register if true, woken up bodies are appended to the bodies of the current step
+     *                 (they have been skipped by the integration, but must be solved and finalized).
+     */
+    private void wakeIsland(PhysicComponent pc, boolean register) {
+        PhysicComponent current = pc;
+        do {
+            PhysicComponent next = current.getIslandNext();
+            current.wakeUp();
+            current.setIslandNext(null);
+            if (register) {
+                int s = findSleeper(current);
+                if (s != -1) {
+                    bodies.add(sleepers.get(s));
+                    bodyComponents.add(current);
+                }
+            }
+            current = next;
+        } while (current != null && current != pc);
+        sleepersChanged = true;
+    }
+
+    /**
+     * Find the index of a body in the sleeping bodies, from the slot stored on its component.
+     *
+     * @param pc the {@link PhysicComponent} of the body.
+     * @return the index of the body in the sleeping bodies, or -1 if it is not one of them.
+     */
+    private int findSleeper(PhysicComponent pc) {
+        int s = pc.getSleeperSlot();
+        return s >= 0 && s < sleeperComponents.size() && sleeperComponents.get(s) == pc ? s : -1;
+    }
+
+    /**
+     * Remove the woken up bodies from the sleeping ones and rebuild the sleeping bodies grid.
+     * A removed body is replaced by the last sleeping one, whose slot is updated.
+     */
+    private void rebuildSleepers() {
+        for (int i = sleeperComponents.size() - 1; i >= 0; i--) {
+            PhysicComponent pc = sleeperComponents.get(i);
+            if (!pc.isSleeping()) {
+                pc.setSleeperSlot(-1);
+                int last = sleeperComponents.size() - 1;
+                if (i != last) {
+                    PhysicComponent moved = sleeperComponents.get(last);
+                    sleepers.set(i, sleepers.get(last));
+                    sleeperComponents.set(i, moved);
+                    moved.setSleeperSlot(i);
+                }
+                sleepers.remove(last);
+                sleeperComponents.remove(last);
+            }
+        }
+        sleepGrid.clear();
+        for (PhysicComponent pc : sleeperComponents) {
+            Rectangle2D b = pc.getBBox();
+            sleepGrid.add(b.getX(), b.getY(), b.getWidth(), b.getHeight());
+        }
+        sleepGrid.build();
+        sleepersChanged = false;
+    }
+
+    /**
+     * Build the simulation islands (groups of dynamic bodies connected by contacts) and put to
+     * sleep any island whose all bodies stayed under the sleep velocity threshold for at least the
+     * sleep time.
+     *
+     * @param stepTime the real time since previous step (in milliseconds)
+     */
+    private void updateIslands(double stepTime) {
+        int n = bodies.size();
+        if (islandParent.length < n) {
+            int size = Integer.highestOneBit(n) << 1;
+            islandParent = new int[size];
+            islandRestTime = new double[size];
+            islandHead = new PhysicComponent[size];
+        }
+        for (int i = 0; i < n; i++) {
+            islandParent[i] = i;
+            islandRestTime[i] = Double.MAX_VALUE;
+            islandHead[i] = null;
+        }
+        List<Contact> contacts = solver.getContacts();
+        for (int i = 0; i < contacts.size(); i++) {
+            Contact c = contacts.get(i);
+            if (c.getA().getType() == PhysicType.DYNAMIC && c.getB().getType() == PhysicType.DYNAMIC) {
+                int ra = findIsland(c.getIndexA());
+                int rb = findIsland(c.getIndexB());
+                if (ra != rb) {
+                    islandParent[ra] = rb;
+                }
+            }
+        }
+        double threshold = sleepVelocity * sleepVelocity;
+        for (int i = 0; i < n; i++) {
+            PhysicComponent pc = bodyComponents.get(i);
+            if (pc.getType() != PhysicType.DYNAMIC) {
+                continue;
+            }
+            Vector2d v = pc.getVelocity();
+            pc.setRestTime(v.x * v.x + v.y * v.y < threshold ? pc.getRestTime() + stepTime : 0);
+            int root = findIsland(i);
+            islandRestTime[root] = Math.min(islandRestTime[root], pc.getRestTime());
+        }
+        for (int i = 0; i < n; i++) {
+            PhysicComponent pc = bodyComponents.get(i);
+            if (pc.getType() != PhysicType.DYNAMIC) {
+                continue;
+            }
+            int root = findIsland(i);
+            if (islandRestTime[root] >= sleepTime) {
+                // link the body into the circular list of its island.
+                PhysicComponent head = islandHead[root];
+                if (head == null) {
+                    islandHead[root] = pc;
+                    pc.setIslandNext(pc);
+                } else {
+                    pc.setIslandNext(head.getIslandNext());
+                    head.setIslandNext(pc);
+                }
+                pc.setSleeping(true);
+                pc.getVelocity().set(0, 0);
+                if (findSleeper(pc) == -1) {
+                    pc.setSleeperSlot(sleeperComponents.size());
+                    sleepers.add(bodies.get(i));
+                    sleeperComponents.add(pc);
+                }
+                sleepersChanged = true;
+            }
+        }
+    }
+
+    private int findIsland(int i) {
+        while (islandParent[i] != i) {
+            islandParent[i] = islandParent[islandParent[i]];
+            i = islandParent[i];
+        }
+        return i;
+    }
+
+    /**
+     * Finalize the update of a dynamic body once collisions have been resolved: keep it into
+     * the {@link World} play area, apply the {@link com.snapgames.framework.entities.Material}
+     * roughness on its velocity and update its graphic shape.
+     *
+     * @param e  the {@link Entity} to be finalized.
+     * @param pc its {@link PhysicComponent}.
+     */
+    private void finalizeBody(Entity e, PhysicComponent pc) {
+        constrainToWorldArea(pc, world);
+
+        // apply Material roughness on velocity
+        Vector2d v = pc.getVelocity();
+        v.set(v.x * pc.getMaterial().getRoughness(), v.y * pc.getMaterial().getRoughness());
+
+        // update the corresponding Entity's GraphicComponent shape for rendering.
+        GraphicComponent gc = e.getComponent(GraphicComponent.class);
+        gc.update(pc.getPosition(), pc.getSize());
+    }
+
+    /**
+     * Apply all {@link World} rules: the world global fields (the gravity) apply on any
+     * contained {@link Entity}'s {@link PhysicComponent}. Fields are not copied into the
+     * body accumulator, but added by the integration.
      *
      * @param pc    the {@link PhysicComponent} from the {@link Entity} to be
      *              updated
      * @param world the {@link World} instance to take into account.
+     * @return true if the world global fields apply to this {@link PhysicComponent}.
      */
-    private void applyWorldRules(PhysicComponent pc, World world) {
-        PhysicComponent worldPC = world.getComponent(PhysicComponent.class);
-        if (worldPC.getBBox().contains(pc.getBBox())) {
-            // apply all World forces to the PhysicComponent.
-            pc.getForces().addAll(worldPC.getForces());
-        }
+    private boolean applyWorldRules(PhysicComponent pc, World world) {
+        return worldPC.getBBox().contains(pc.getBBox());
     }
 
     /**
@@ -240,7 +926,6 @@ public class PhysicEngineService extends AbstractService {
      * @param world the {@link World} instance to take into account.
      */
     private void constrainToWorldArea(PhysicComponent pc, World world) {
-        PhysicComponent worldPC = world.getComponent(PhysicComponent.class);
         Vector2d position = pc.getPosition();
         Vector2d velocity = pc.getVelocity();
         Vector2d size = pc.getSize();
@@ -269,6 +954,336 @@ public class PhysicEngineService extends AbstractService {
         }
     }
 
+    /**
+     * Release a body removed from the simulation (e.g. streamed out of memory): if it was
+     * sleeping, its whole island is woken up and the body is removed from the sleeping ones,
+     * so that no reference to it is kept by the engine.
+     *
+     * @param e the {@link Entity} to be released.
+     */
+    public void release(Entity e) {
+        if (!e.containsComponent(PhysicComponent.class)) {
+            return;
+        }
+        PhysicComponent pc = e.getComponent(PhysicComponent.class);
+        if (pc.getIslandNext() != null) {
+            wakeIsland(pc, false);
+        }
+        pc.wakeUp();
+        if (findSleeper(pc) != -1) {
+            // removed with the other woken up bodies on the next step: until then, the queries
+            // skip it as it is not sleeping anymore.
+            sleepersChanged = true;
+        }
+    }
+
+    /**
+     * Retrieve the entities whose shape overlaps an axis aligned area. Queries see the bodies of the
+     * last physic step: awake, sleeping and static ones.
+     *
+     * @param x         the left of the area
+     * @param y         the top of the area
+     * @param w         the width of the area
+     * @param h         the height of the area
+     * @param layerMask the collision categories to look for (-1 for all of them)
+     * @param result    the buffer receiving the found entities, with a distance of 0.
+     * @return the number of entities found.
+     */
+    public int queryArea(double x, double y, double w, double h, int layerMask, QueryResult result) {
+        result.clear();
+        queryGrid(grid, bodies, bodyComponents, x, y, x + w, y + h, layerMask, result);
+        queryGrid(sleepGrid, sleepers, sleeperComponents, x, y, x + w, y + h, layerMask, result);
+        queryGrid(staticGrid, staticBodies, staticComponents, x, y, x + w, y + h, layerMask, result);
+        for (int i = result.size() - 1; i >= 0; i--) {
+            // keep only the bodies overlapping the area, not only their bounding box.
+            PhysicComponent pc = result.getEntity(i).getComponent(PhysicComponent.class);
+            double cx = Math.max(x, Math.min(pc.getPosition().x + pc.getSize().x * 0.5, x + w));
+            double cy = Math.max(y, Math.min(pc.getPosition().y + pc.getSize().y * 0.5, y + h));
+            if (Collisions.distance(pc, cx, cy) > 0.0) {
+                result.remove(i);
+            }
+        }
+        return result.size();
+    }
+
+    /**
+     * Retrieve the entities whose shape overlaps a circle.
+     *
+     * @param x         the X position of the circle center
+     * @param y         the Y position of the circle center
+     * @param radius    the circle radius
+     * @param layerMask the collision categories to look for (-1 for all of them)
+     * @param result    the buffer receiving the found entities, with their distance to the center.
+     * @return the number of entities found.
+     */
+    public int queryCircle(double x, double y, double radius, int layerMask, QueryResult result) {
+        result.clear();
+        queryGrid(grid, bodies, bodyComponents, x - radius, y - radius, x + radius, y + radius, layerMask, result);
+        queryGrid(sleepGrid, sleepers, sleeperComponents, x - radius, y - radius, x + radius, y + radius, layerMask, result);
+        queryGrid(staticGrid, staticBodies, staticComponents, x - radius, y - radius, x + radius, y + radius, layerMask, result);
+        for (int i = result.size() - 1; i >= 0; i--) {
+            double d = Collisions.distance(result.getEntity(i).getComponent(PhysicComponent.class), x, y);
+            if (d > radius) {
+                result.remove(i);
+            } else {
+                result.set(i, result.getEntity(i), d);
+            }
+        }
+        return result.size();
+    }
+
+    /**
+     * Retrieve the <code>k</code> entities nearest to a point, sorted on increasing distance.
+     * <p>
+     * The broad phase cells are searched in growing rings around the cell of the point, until
+     * <code>k</code> entities are found nearer than any cell not visited yet, or until the rings
+     * go beyond <code>maxDistance</code> or the populated cells.
+     *
+     * @param x           the X position of the point
+     * @param y           the Y position of the point
+     * @param k           the maximum number of entities to be found
+     * @param maxDistance the maximum distance from the point to the shape of an entity
+     * @param layerMask   the collision categories to look for (-1 for all of them)
+     * @param result      the buffer receiving the found entities, with their distance to the point.
+     * @return the number of entities found.
+     */
+    public int queryNearest(double x, double y, int k, double maxDistance, int layerMask, QueryResult result) {
+        result.clear();
+        if (k <= 0 || !(maxDistance >= 0.0)) {
+            return 0;
+        }
+        double cellSize = grid.getCellSize();
+        int cx = grid.getCell(x), cy = grid.getCell(y);
+        SpatialGrid[] grids = {grid, sleepGrid, staticGrid};
+        // the rings before the nearest populated cell are empty.
+        long r = Long.MAX_VALUE, last = 0;
+        for (SpatialGrid g : grids) {
+            if (!g.isEmpty()) {
+                r = Math.min(r, ringDistance(g, cx, cy, false));
+                last = Math.max(last, ringDistance(g, cx, cy, true));
+            }
+        }
+        if (r == Long.MAX_VALUE) {
+            return 0;
+        }
+        int nbAwake = 0, nbSleeping = 0, nbStatic = 0;
+        grid.beginQuery();
+        sleepGrid.beginQuery();
+        staticGrid.beginQuery();
+        for (; r <= last; r++) {
+            nbAwake = collectNearest(grid, bodies, bodyComponents, cx, cy, r, nbAwake, x, y, maxDistance, layerMask, result);
+            nbSleeping = collectNearest(sleepGrid, sleepers, sleeperComponents, cx, cy, r, nbSleeping, x, y, maxDistance, layerMask, result);
+            nbStatic = collectNearest(staticGrid, staticBodies, staticComponents, cx, cy, r, nbStatic, x, y, maxDistance, layerMask, result);
+            // the entities not found yet are out of the visited square of cells.
+            double outside = Math.min(
+                    Math.min(x - (cx - r) * cellSize, (cx + r + 1) * cellSize - x),
+                    Math.min(y - (cy - r) * cellSize, (cy + r + 1) * cellSize - y));
+            if (outside > maxDistance) {
+                break;
+            }
+            if (result.size() >= k) {
+                int nbNearer = 0;
+                for (int i = 0; i < result.size(); i++) {
+                    if (result.getDistance(i) <= outside) {
+                        nbNearer++;
+                    }
+                }
+                if (nbNearer >= k) {
+                    break;
+                }
+            }
+        }
+        result.sort();
+        result.truncate(k);
+        return result.size();
+    }
+
+    /**
+     * Compute the ring radius around a cell reaching the nearest (or the farthest) populated cell of a grid.
+     */
+    private static long ringDistance(SpatialGrid g, int cx, int cy, boolean farthest) {
+        long dx0 = (long) g.getMinCellX() - cx, dx1 = (long) cx - g.getMaxCellX();
+        long dy0 = (long) g.getMinCellY() - cy, dy1 = (long) cy - g.getMaxCellY();
+        if (farthest) {
+            return Math.max(Math.max(-dx0, -dx1), Math.max(-dy0, -dy1));
+        }
+        return Math.max(0, Math.max(Math.max(dx0, dx1), Math.max(dy0, dy1)));
+    }
+
+    /**
+     * Append to the result the entities of a ring of cells nearer than the maximum distance.
+     *
+     * @return the number of bodies already visited in the grid.
+     */
+    private int collectNearest(SpatialGrid g, List<Entity> entities, List<PhysicComponent> components,
+                               int cx, int cy, long r, int from, double x, double y, double maxDistance,
+                               int layerMask, QueryResult result) {
+        int n = g.queryRing(cx, cy, r);
+        for (int i = from; i < n; i++) {
+            int b = g.getQueryResult(i);
+            PhysicComponent pc = components.get(b);
+            if ((pc.getCategory() & layerMask) != 0 && (g != sleepGrid || pc.isSleeping())) {
+                double d = Collisions.distance(pc, x, y);
+                if (d <= maxDistance) {
+                    result.add(entities.get(b), d);
+                }
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Cast a ray and retrieve the first entity hit. The hit point and the surface normal are
+     * available on the result buffer.
+     * <p>
+     * The ray walks through the broad phase cells it crosses, clipped to the populated cells, and
+     * stops on the first cell where a body is hit before the ray leaves that cell.
+     *
+     * @param ox          the X position of the ray origin
+     * @param oy          the Y position of the ray origin
+     * @param dx          the X component of the ray direction
+     * @param dy          the Y component of the ray direction
+     * @param maxDistance the length of the ray
+     * @param layerMask   the collision categories to look for (-1 for all of them)
+     * @param result      the buffer receiving the first entity hit, with its distance to the origin.
+     * @return true if an entity has been hit.
+     */
+    public boolean raycast(double ox, double oy, double dx, double dy, double maxDistance,
+                           int layerMask, QueryResult result) {
+        double length = Math.sqrt(dx * dx + dy * dy);
+        result.clear();
+        if (length == 0.0 || !(maxDistance >= 0.0)) {
+            return false;
+        }
+        dx /= length;
+        dy /= length;
+        // clip the ray to the populated cells of the 3 grids.
+        double cellSize = grid.getCellSize();
+        double bx0 = Double.POSITIVE_INFINITY, by0 = Double.POSITIVE_INFINITY;
+        double bx1 = Double.NEGATIVE_INFINITY, by1 = Double.NEGATIVE_INFINITY;
+        for (SpatialGrid g : new SpatialGrid[]{grid, sleepGrid, staticGrid}) {
+            if (!g.isEmpty()) {
+                bx0 = Math.min(bx0, g.getMinCellX() * cellSize);
+                by0 = Math.min(by0, g.getMinCellY() * cellSize);
+                bx1 = Math.max(bx1, (g.getMaxCellX() + 1.0) * cellSize);
+                by1 = Math.max(by1, (g.getMaxCellY() + 1.0) * cellSize);
+            }
+        }
+        if (bx0 > bx1) {
+            return false;
+        }
+        double tMin = 0.0, tMax = maxDistance;
+        if (dx != 0.0) {
+            double t0 = (bx0 - ox) / dx, t1 = (bx1 - ox) / dx;
+            tMin = Math.max(tMin, Math.min(t0, t1));
+            tMax = Math.min(tMax, Math.max(t0, t1));
+        } else if (ox < bx0 || ox > bx1) {
+            return false;
+        }
+        if (dy != 0.0) {
+            double t0 = (by0 - oy) / dy, t1 = (by1 - oy) / dy;
+            tMin = Math.max(tMin, Math.min(t0, t1));
+            tMax = Math.min(tMax, Math.max(t0, t1));
+        } else if (oy < by0 || oy > by1) {
+            return false;
+        }
+        if (!(tMin <= tMax)) {
+            return false;
+        }
+
+        // walk the crossed cells (DDA), from the ray entry into the populated cells.
+        int cx = grid.getCell(ox + dx * tMin), cy = grid.getCell(oy + dy * tMin);
+        int stepX = dx > 0.0 ? 1 : -1, stepY = dy > 0.0 ? 1 : -1;
+        double deltaX = dx != 0.0 ? cellSize / Math.abs(dx) : Double.POSITIVE_INFINITY;
+        double deltaY = dy != 0.0 ? cellSize / Math.abs(dy) : Double.POSITIVE_INFINITY;
+        double nextX = dx != 0.0 ? ((dx > 0.0 ? cx + 1.0 : cx) * cellSize - ox) / dx : Double.POSITIVE_INFINITY;
+        double nextY = dy != 0.0 ? ((dy > 0.0 ? cy + 1.0 : cy) * cellSize - oy) / dy : Double.POSITIVE_INFINITY;
+        int nbAwake = 0, nbSleeping = 0, nbStatic = 0;
+        grid.beginQuery();
+        sleepGrid.beginQuery();
+        staticGrid.beginQuery();
+        while (true) {
+            nbAwake = collectCell(grid, bodies, bodyComponents, cx, cy, nbAwake, layerMask, result);
+            nbSleeping = collectCell(sleepGrid, sleepers, sleeperComponents, cx, cy, nbSleeping, layerMask, result);
+            nbStatic = collectCell(staticGrid, staticBodies, staticComponents, cx, cy, nbStatic, layerMask, result);
+            double exit = Math.min(nextX, nextY);
+            if (result.size() > 0 && castRay(ox, oy, dx, dy, maxDistance, result) <= exit || exit > tMax) {
+                // any body not met yet is in a farther cell.
+                break;
+            }
+            if (nextX < nextY) {
+                cx += stepX;
+                nextX += deltaX;
+            } else {
+                cy += stepY;
+                nextY += deltaY;
+            }
+        }
+        return result.size() > 0;
+    }
+
+    /**
+     * Cast the ray on the entities of the result, keeping only the first one hit.
+     *
+     * @return the distance to the hit, or infinity when no entity is hit.
+     */
+    private double castRay(double ox, double oy, double dx, double dy, double maxDistance, QueryResult result) {
+        Entity hit = null;
+        double best = maxDistance, nx = 0, ny = 0;
+        for (int i = 0; i < result.size(); i++) {
+            double t = Collisions.raycast(result.getEntity(i).getComponent(PhysicComponent.class),
+                    ox, oy, dx, dy, best, probe);
+            if (t >= 0.0 && (hit == null || t < best)) {
+                best = t;
+                hit = result.getEntity(i);
+                nx = probe.getNormalX();
+                ny = probe.getNormalY();
+            }
+        }
+        result.clear();
+        if (hit == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+        result.add(hit, best);
+        result.setHit(ox + dx * best, oy + dy * best, nx, ny);
+        return best;
+    }
+
+    /**
+     * Append to the result the entities registered into a cell, whose collision category matches
+     * the layer mask.
+     *
+     * @return the number of bodies already visited in the grid.
+     */
+    private int collectCell(SpatialGrid g, List<Entity> entities, List<PhysicComponent> components,
+                            int cx, int cy, int from, int layerMask, QueryResult result) {
+        int n = g.queryCell(cx, cy);
+        for (int i = from; i < n; i++) {
+            int b = g.getQueryResult(i);
+            PhysicComponent pc = components.get(b);
+            if ((pc.getCategory() & layerMask) != 0 && (g != sleepGrid || pc.isSleeping())) {
+                result.add(entities.get(b), 0.0);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Append to the result the entities from a broad phase grid whose bounding box overlaps the area
+     * and whose collision category matches the layer mask.
+     */
+    private void queryGrid(SpatialGrid g, List<Entity> entities, List<PhysicComponent> components,
+                           double x0, double y0, double x1, double y1, int layerMask, QueryResult result) {
+        int n = g.query(x0, y0, x1, y1);
+        for (int i = 0; i < n; i++) {
+            int b = g.getQueryResult(i);
+            PhysicComponent pc = components.get(b);
+            if ((pc.getCategory() & layerMask) != 0 && (g != sleepGrid || pc.isSleeping())) {
+                result.add(entities.get(b), 0.0);
+            }
+        }
+    }
+
     /**
      * Retrieves the priority level of this service. The priority determines
      * the execution order of services, with lower numbers indicating higher
@@ -293,6 +1308,7 @@ public class PhysicEngineService extends AbstractService {
      */
     @Override
     public void dispose(App app) {
+        solver.dispose();
     }
 
     /**
@@ -306,7 +1322,76 @@ public class PhysicEngineService extends AbstractService {
     @Override
     public Map<String, Object> getStats() {
         return Map.of("updated", nbUpdatedObjects,
-                "UPS", 120);
+                "UPS", 120,
+                "contacts", solver.getContactCount(),
+                "sleeping", sleepers.size(),
+                "impacts", nbImpacts,
+                "statics", staticBodies.size(),
+                "triggers", triggers.getOverlapCount(),
+                "triggerEvents", triggers.getEvents().size(),
+                "fieldHits", nbFieldHits);
+    }
+
+    /**
+     * Add a listener called at the start of each physic step.
+     *
+     * @param listener the {@link StepListener} to be added.
+     */
+    public void addStepListener(StepListener listener) {
+        stepListeners.add(listener);
+    }
+
+    /**
+     * Remove a step listener.
+     *
+     * @param listener the {@link StepListener} to be removed.
+     */
+    public void removeStepListener(StepListener listener) {
+        stepListeners.remove(listener);
+    }
+
+    /**
+     * @return true if the engine runs in deterministic (lockstep) mode.
+     */
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+
+    /**
+     * @return the number of physic steps processed so far.
+     */
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    /**
+     * @return the fixed time of a step in deterministic mode (in milliseconds).
+     */
+    public double getStepTime() {
+        return 1000.0 / UPS;
+    }
+
+    /**
+     * Retrieve a named random stream derived from the <code>app.physic.random.seed</code> seed
+     * (see {@link RandomStreams}).
+     *
+     * @param name the name of the stream.
+     * @return the {@link Random} generator of the stream.
+     */
+    public Random getRandom(String name) {
+        return randomStreams.get(name);
+    }
+
+    /**
+     * Retrieve the trigger events of the physic steps simulated during the current frame: bodies
+     * entering, staying into or leaving a trigger volume (see {@link PhysicComponent#isTrigger()}).
+     * With the deterministic catch-up, a frame may simulate several steps: the events of all of them
+     * are kept, in their order, until the start of the next frame. The returned buffer is reused.
+     *
+     * @return the {@link TriggerEvents} of the current frame.
+     */
+    public TriggerEvents getTriggerEvents() {
+        return triggers.getEvents();
     }
 
     /**
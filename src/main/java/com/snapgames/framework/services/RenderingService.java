@@ -1,17 +1,26 @@
 package com.snapgames.framework.services;
 
+import static com.snapgames.framework.App.*;
+
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Insets;
 import java.awt.RenderingHints;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowListener;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferStrategy;
 import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Collectors;
 
 import javax.swing.JFrame;
@@ -20,6 +29,19 @@ import com.snapgames.framework.App;
 import com.snapgames.framework.components.*;
 import com.snapgames.framework.entities.Camera;
 import com.snapgames.framework.entities.Entity;
+import com.snapgames.framework.render.DebugOverlay;
+import com.snapgames.framework.render.DirtyRegions;
+import com.snapgames.framework.render.GridChunkCache;
+import com.snapgames.framework.render.Java2DBackend;
+import com.snapgames.framework.render.RenderBackend;
+import com.snapgames.framework.render.RenderBand;
+import com.snapgames.framework.render.RenderFrame;
+import com.snapgames.framework.render.RenderItem;
+import com.snapgames.framework.render.RenderLayers;
+import com.snapgames.framework.render.SoftwareBackend;
+import com.snapgames.framework.render.SpriteCache;
+import com.snapgames.framework.render.TextCache;
+import com.snapgames.framework.render.TripleBuffer;
 
 /**
  * The RenderingService class is responsible for rendering graphical elements of the application.
@@ -29,6 +51,16 @@ import com.snapgames.framework.entities.Entity;
  * <p>
  * RenderingService extends the AbstractService and overrides its lifecycle methods including initialization,
  * processing, disposal, and obtaining service statistics.
+ * <p>
+ * On each frame, the simulation thread captures the visible entities into a {@link RenderFrame}
+ * snapshot, published through a {@link TripleBuffer} to a dedicated render thread which draws it
+ * (see <code>app.render.thread</code>): simulation and drawing run in parallel, and a slow draw
+ * never delays the next physic step.
+ * <p>
+ * Frames are pipelined: the simulation of frame N+1 runs while frame N is drawn and presented.
+ * The <code>app.render.pipeline.latency</code> bounds the number of captured frames not yet presented:
+ * beyond, the simulation waits for the render thread instead of running further ahead. With no
+ * bound (0), the simulation never waits and late frames are dropped.
  *
  * @author Frédéric Delorme
  * @since 0.0.1
@@ -36,16 +68,17 @@ import com.snapgames.framework.entities.Entity;
 public class RenderingService extends AbstractService {
 
     /**
-     * The {@code renderingList} is a thread-safe list that maintains a collection of
-     * {@link Entity} objects to be processed within the rendering pipeline of the
-     * {@link RenderingService}. This list is implemented using a {@link CopyOnWriteArrayList}
-     * to ensure consistent iteration and modification during concurrent access.
-     * <p>
-     * It centralizes all entities intended for rendering and is primarily utilized by methods
-     * responsible for drawing and rendering operations. The list's thread-safe behavior ensures
-     * reliability and accuracy when multiple threads are interacting with the rendering data.
+     * The frame snapshots exchanged between the simulation thread (capturing them) and the
+     * render thread (drawing them).
+     */
+    private final TripleBuffer<RenderFrame> frames = new TripleBuffer<>(RenderFrame::new);
+    /**
+     * The drawable entities, retained in priority layers updated on entity addition and removal,
+     * and the entities found with a changed priority during the last capture.
      */
-    List<Entity> renderingList = new CopyOnWriteArrayList<>();
+    private final RenderLayers layers = new RenderLayers();
+    private final List<Entity> moved = new ArrayList<>();
+    private EntityManagerService entMgr;
     /**
      * Represents the currently active {@link Camera} being used by the {@link RenderingService}
      * for rendering the scene. This camera determines the portion of the game world
@@ -62,8 +95,20 @@ public class RenderingService extends AbstractService {
      * the RenderingService. It provides a temporary storage space for graphical
      * content to be drawn before being transferred to the final output, ensuring
      * efficient rendering and reducing flickering effects.
+     * <p>
+     * The buffer is a hardware accelerated {@link VolatileImage} when available, the
+     * {@link BufferedImage} compatible with the screen being only used as a fallback. With the
+     * software backend, the buffer is a {@link BufferedImage#TYPE_INT_RGB} image whose pixels are
+     * written directly.
      */
     private BufferedImage renderingBuffer = null;
+    private VolatileImage volatileBuffer = null;
+    private int bufferWidth;
+    private int bufferHeight;
+    /**
+     * The integer scale of the last blit to the window (0 when the window is smaller than the buffer).
+     */
+    private volatile int blitScale = 0;
     /**
      * The main application window used for rendering and displaying content.
      * It serves as the primary container for graphical output generated by the service.
@@ -79,10 +124,73 @@ public class RenderingService extends AbstractService {
     private SceneManagerService scnMgr;
 
 
+    /**
+     * The rendering hints of the rendering buffer.
+     */
+    private static final Map<RenderingHints.Key, Object> RENDERING_HINTS = Map.of(
+            RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON,
+            RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON,
+            RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+
     double FPS = 60.0;
     private long currentTime = 0;
     static double cumulated = 0;
-    private int nbRenderedEntities = 0;
+    private volatile int nbRenderedEntities = 0;
+    private long frameIndex = 0;
+    /**
+     * The graphics used by the simulation thread to measure texts during capture.
+     */
+    private Graphics2D measure;
+    /**
+     * The layouts of the texts, updated only when a text changes.
+     */
+    private TextCache textCache;
+    /**
+     * The regions changed since the previously drawn frame, null when the whole buffer is
+     * always drawn again.
+     */
+    private DirtyRegions dirtyRegions;
+    /**
+     * The horizontal bands of the rendering buffer, each one with its backend and caches. In banded
+     * rendering mode, the thread drawing the frames draws the first band, and a band worker thread
+     * each one of the next bands; otherwise, a single band covers the whole buffer.
+     */
+    private RenderBand[] bands;
+    private Thread[] bandWorkers;
+    private Semaphore[] bandStarts;
+    private final Semaphore bandsDone = new Semaphore(0);
+    private volatile boolean bandsStopped = false;
+    /**
+     * The frame drawn by the band workers, and true if it is drawn entirely.
+     */
+    private RenderFrame bandFrame;
+    private boolean bandFull;
+    /**
+     * The debug overlay drawn on the window, refreshed at a low rate.
+     */
+    private DebugOverlay debugOverlay;
+    /**
+     * The services statistics line, rebuilt at the debug overlay refresh rate, and the time of its
+     * next rebuild (in ms).
+     */
+    private String statsLine;
+    private long statsPeriod = 0;
+    private long nextStatsTime = 0;
+    /**
+     * The dedicated render thread, null when frames are drawn by the main loop thread.
+     */
+    private Thread renderThread;
+    private volatile boolean rendering = false;
+    /**
+     * Max number of captured frames not yet presented, and the index of the last presented frame.
+     */
+    private int maxLatency = 1;
+    private volatile long presentedIndex = -1;
+    private volatile Thread waitingThread;
+    private long waitTime = 0;
+    private volatile int realFPS = 0;
+    private int nbFrames = 0;
+    private long fpsTime = 0;
 
     /**
      * Constructor for the RenderingService class.
@@ -116,17 +224,61 @@ public class RenderingService extends AbstractService {
     public void init(App app, String[] args) {
         ConfigurationService cs = (ConfigurationService) app.getService(ConfigurationService.class.getSimpleName());
         Dimension bufferSize = cs.getValue("app.render.buffer.size");
-        renderingBuffer = new BufferedImage(bufferSize.width, bufferSize.height, BufferedImage.TYPE_INT_ARGB);
+        bufferWidth = bufferSize.width;
+        bufferHeight = bufferSize.height;
         Dimension windowSize = cs.getValue("app.render.window.size");
         String windowTitle = cs.getValue("app.window.title");
         int maxBuffers = cs.getValue("app.render.window.max.buffers");
         FPS = cs.getValue("app.render.frame.rate");
 
         frame = new JFrame(windowTitle);
-        frame.setPreferredSize(windowSize);
+        // the window size is the drawable area, without the window decorations.
+        frame.getContentPane().setPreferredSize(windowSize);
         frame.pack();
         frame.setVisible(true);
         frame.createBufferStrategy(maxBuffers);
+        GraphicsConfiguration gconf = frame.getGraphicsConfiguration();
+        RenderBackend backend;
+        String backendName = cs.getValue("app.render.backend");
+        if ("software".equalsIgnoreCase(backendName)) {
+            // the pixels of the buffer are written directly: no accelerated buffer, and the cached
+            // images are plain int images the backend can copy.
+            renderingBuffer = new BufferedImage(bufferWidth, bufferHeight, BufferedImage.TYPE_INT_RGB);
+            backend = new SoftwareBackend(renderingBuffer, RENDERING_HINTS);
+            gconf = null;
+        } else {
+            renderingBuffer = gconf.createCompatibleImage(bufferWidth, bufferHeight);
+            volatileBuffer = gconf.createCompatibleVolatileImage(bufferWidth, bufferHeight);
+            backend = new Java2DBackend(RENDERING_HINTS);
+        }
+        info(RenderingService.class, "Render backend: %s", backend.getClass().getSimpleName());
+        int gridChunkSize = cs.getValue("app.render.grid.chunk.size");
+        int maxSprites = cs.getValue("app.render.sprite.cache.size");
+        int nbBands = cs.getValue("app.render.bands");
+        nbBands = nbBands > 0 ? nbBands : Runtime.getRuntime().availableProcessors();
+        if (nbBands > 1 && !(backend instanceof SoftwareBackend)) {
+            // the Graphics2D of an accelerated buffer cannot be used by several threads.
+            warn(RenderingService.class, "Banded rendering requires the software backend: drawing a single band");
+            nbBands = 1;
+        }
+        nbBands = Math.min(nbBands, bufferHeight);
+        bands = new RenderBand[nbBands];
+        for (int i = 0; i < nbBands; i++) {
+            bands[i] = new RenderBand(bufferHeight * i / nbBands, bufferHeight * (i + 1) / nbBands,
+                    i == 0 ? backend : new SoftwareBackend(renderingBuffer, RENDERING_HINTS),
+                    new GridChunkCache(gridChunkSize, gconf, RENDERING_HINTS),
+                    maxSprites > 0 ? new SpriteCache(maxSprites, gconf, RENDERING_HINTS) : null);
+        }
+        if (nbBands > 1) {
+            startBandWorkers();
+            info(RenderingService.class, "Rendering buffer drawn in %d bands", nbBands);
+        }
+        double debugRefreshRate = cs.getValue("app.render.debug.refresh.rate");
+        statsPeriod = (long) (1000.0 / Math.max(debugRefreshRate, 0.1));
+        debugOverlay = new DebugOverlay(debugRefreshRate, 1000.0 / FPS);
+        if (cs.<Boolean>getValue("app.render.dirty.rectangles")) {
+            dirtyRegions = new DirtyRegions(bufferWidth, bufferHeight, cs.getValue("app.render.dirty.threshold"));
+        }
         frame.addWindowListener(new WindowListener() {
             @Override
             public void windowOpened(WindowEvent e) {
@@ -163,11 +315,25 @@ public class RenderingService extends AbstractService {
             }
         });
         scnMgr = app.getService(SceneManagerService.class.getSimpleName());
+        entMgr = app.getService(EntityManagerService.class.getSimpleName());
+        entMgr.getEntities().forEach(layers::onEntityAdded);
+        entMgr.addListener(layers);
+        measure = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        measure.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        textCache = new TextCache(measure);
+        maxLatency = cs.getValue("app.render.pipeline.latency");
+        if (cs.<Boolean>getValue("app.render.thread")) {
+            rendering = true;
+            renderThread = new Thread(this::renderLoop, "render");
+            renderThread.setDaemon(true);
+            renderThread.start();
+        }
     }
 
     /**
-     * Handles the main rendering process for the current game scene. Renders entities and graphical components
-     * onto the rendering buffer, applies camera transformations, and updates the display frame.
+     * Handles the main rendering process for the current game scene: on each frame, the visible
+     * entities are captured into a {@link RenderFrame} and published to the render thread (or
+     * drawn right away without render thread).
      *
      * @param app the application instance containing the required services and context for processing
      */
@@ -175,9 +341,13 @@ public class RenderingService extends AbstractService {
     public void process(App app) {
         long previousTime = currentTime;
         currentTime = System.currentTimeMillis();
-        ;
         if (cumulated > 1000.0 / FPS) {
-            drawEntitiesToScreen(app);
+            captureFrame(app);
+            if (renderThread != null) {
+                LockSupport.unpark(renderThread);
+            } else if (frames.swap()) {
+                drawFrame(frames.getReadBuffer());
+            }
             cumulated = 0;
         }
 
@@ -185,174 +355,475 @@ public class RenderingService extends AbstractService {
         cumulated += elapsed;
     }
 
-    private void drawEntitiesToScreen(App app) {
-        Graphics2D g = renderingBuffer.createGraphics();
+    /**
+     * Capture the active visible entities of the current scene into the write frame, then publish it.
+     *
+     * @param app the application instance containing the required services.
+     */
+    private void captureFrame(App app) {
+        if (renderThread != null && maxLatency > 0) {
+            waitForPresentation();
+        }
+        RenderFrame rf = frames.getWriteBuffer();
+        rf.clear();
+        rf.index = frameIndex++;
+        rf.debugLevel = app.getDebugLevel();
         cameraActive = scnMgr.getCurrentScene().getCamera();
-        nbRenderedEntities = 0;
 
         PhysicEngineService pes = app.getService(PhysicEngineService.class.getSimpleName());
-
-        // Configure rendering graphics API
-        g.setRenderingHints(Map.of(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON,
-                RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON,
-                RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY));
-
-        // Retrieve required services
-        EntityManagerService entMgr = (EntityManagerService) app.getService(EntityManagerService.class.getSimpleName());
-        renderingList = entMgr.getEntities().stream().filter(e -> {
-            GraphicComponent gc = e.getComponent(GraphicComponent.class);
-            return e.isActive() && !gc.isStickToViewport();
-        }).toList();
-
-        // Clear the rendering buffer;
-        g.setColor(Color.BLACK);
-        g.fillRect(0, 0, renderingBuffer.getWidth(), renderingBuffer.getHeight());
-
-        // Render all objects through camera viewport (if an active camera exists)
+        Rectangle2D playArea = pes.getWorld().getPlayArea();
+        rf.worldX = playArea.getX();
+        rf.worldY = playArea.getY();
+        rf.worldWidth = playArea.getWidth();
+        rf.worldHeight = playArea.getHeight();
         if (Optional.ofNullable(cameraActive).isPresent()) {
-            renderingList = renderingList.stream().filter(e -> cameraActive.hasEntityInView(e)).toList();
             PhysicComponent pc = cameraActive.getComponent(PhysicComponent.class);
-            g.translate(-pc.getPosition().getX(), -pc.getPosition().getY());
-            nbRenderedEntities = nbRenderedEntities + renderingList.size();
+            rf.hasCamera = true;
+            rf.cameraX = pc.getPosition().getX();
+            rf.cameraY = pc.getPosition().getY();
         }
-        // Draw all active sorted entities.
-        drawAllEntities(g, renderingList);
 
-        // draw world limit in debug mode
-        if (app.isDebugLevelGreaterThan(0)) {
-            g.setColor(Color.DARK_GRAY);
-            g.draw(pes.getWorld().getPlayArea());
+        // Walk the priority layers for the active entities in view (or stuck to the viewport).
+        int nbCaptured = 0;
+        for (int l = 0; l < layers.getLayerCount(); l++) {
+            RenderLayers.Layer layer = layers.getLayer(l);
+            for (int i = 0; i < layer.size(); i++) {
+                Entity e = layer.getEntity(i);
+                GraphicComponent gc = layer.getGraphic(i);
+                if (layer.hasMoved(i)) {
+                    moved.add(e);
+                }
+                if (!e.isActive()
+                        || !gc.isStickToViewport() && rf.hasCamera && !cameraActive.hasEntityInView(e)) {
+                    continue;
+                }
+                captureEntity(rf.next(), e, gc);
+                nbCaptured++;
+            }
         }
+        if (!moved.isEmpty()) {
+            // some priorities changed: sort this frame once, and move the entities to their new layer.
+            moved.forEach(layers::move);
+            moved.clear();
+            rf.sort();
+        }
+        nbRenderedEntities = nbCaptured;
 
-        // Move back to normal position (if an active camera exists)
-        if (Optional.ofNullable(cameraActive).isPresent()) {
-            PhysicComponent pc = cameraActive.getComponent(PhysicComponent.class);
-            g.translate(pc.getPosition().getX(), pc.getPosition().getY());
-        }
-        renderingList = entMgr.getEntities().stream().filter(e -> {
-            GraphicComponent gc = e.getComponent(GraphicComponent.class);
-            return e.isActive() && gc.isStickToViewport();
-        }).toList();
-        nbRenderedEntities = nbRenderedEntities + renderingList.size();
-        // Draw all active stuck to viewport entities.
-        drawAllEntities(g, renderingList);
-
-        // now copy buffer to window.
-        drawToFrame(renderingBuffer);
-    }
-
-    /**
-     * Renders all entities in the provided list by sorting them according to their
-     * priority and invoking the drawing logic for each entity.
-     *
-     * @param g             the {@code Graphics2D} context used to render the entities
-     * @param renderingList the list of {@code Entity} objects to be rendered
-     */
-    private void drawAllEntities(Graphics2D g, List<Entity> renderingList) {
-        renderingList.stream().sorted((e1, e2) -> {
-            PriorityComponent p1 = e1.getComponent(PriorityComponent.class);
-            PriorityComponent p2 = e2.getComponent(PriorityComponent.class);
-            return Integer.compare(p1.getPriority(), p2.getPriority());
-        }).forEach(e -> drawEntity(g, e));
+        if (app.isDebugLevelGreaterThan(0)) {
+            // the statistics are only collected at the debug overlay refresh rate.
+            if (statsLine == null || currentTime >= nextStatsTime) {
+                statsLine = app.getServicesStatistics().entrySet().stream()
+                        .map(entry -> entry.getKey() + ": " + entry.getValue())
+                        .collect(Collectors.joining(" | ", "[", "]"));
+                nextStatsTime = currentTime + statsPeriod;
+            }
+            rf.stats = statsLine;
+        }
+        frames.publish();
     }
 
     /**
-     * Draws the content of the provided rendering buffer onto the application frame.
-     * This method clears the frame with a dark gray background before rendering the
-     * given buffer image. The rendered content is then displayed using the frame's
-     * buffer strategy.
-     *
-     * @param renderingBuffer the {@link BufferedImage} containing the content to be rendered
-     *                        onto the application frame.
+     * Wait until the number of captured frames not yet presented is under the max latency.
      */
-    private void drawToFrame(BufferedImage renderingBuffer) {
-        Graphics2D g = (Graphics2D) frame.getBufferStrategy().getDrawGraphics();
-        g.setColor(Color.DARK_GRAY);
-        g.fillRect(0, 0, frame.getWidth(), frame.getHeight());
-        g.drawImage(renderingBuffer, 0, 0, frame.getWidth(), frame.getHeight(), 0, 0, renderingBuffer.getWidth(),
-                renderingBuffer.getHeight(), null);
-        if (app.isDebugLevelGreaterThan(0)) {
-            g.setColor(Color.ORANGE);
-            String dbgValues = app.getServicesStatistics().entrySet().stream()
-                    .map(entry -> entry.getKey() + ": " + entry.getValue())
-                    .collect(Collectors.joining(" | ", "[", "]"));
-            g.drawString(dbgValues, 10, frame.getHeight() - 12);
+    private void waitForPresentation() {
+        long start = System.nanoTime();
+        while (rendering && frameIndex - 1 - presentedIndex > maxLatency) {
+            waitingThread = Thread.currentThread();
+            // woken up by the render thread on each presented frame.
+            LockSupport.parkNanos(this, 1_000_000L);
         }
-        frame.getBufferStrategy().show();
-        g.dispose();
-
+        waitingThread = null;
+        waitTime += System.nanoTime() - start;
     }
 
     /**
-     * Renders an entity's graphical components and associated features onto the provided graphics context.
-     * This method processes various components like shapes, text, grids, and gauges, and applies them to
-     * the {@code Graphics2D} context. Additional debugging visuals may also be drawn based on application settings.
+     * Copy the graphic state of an entity into a {@link RenderItem}. The texts are measured here, on
+     * the simulation thread, to update the size of the entity, and laid out only when they change
+     * (see {@link TextCache}).
      *
-     * @param g the {@code Graphics2D} context used to render the entity
-     * @param e the {@code Entity} to be drawn, which contains graphical components to be rendered
-     */
-    private void drawEntity(Graphics2D g, Entity e) {
-        GraphicComponent gc = e.getComponent(GraphicComponent.class);
-        if (Optional.ofNullable(gc).isPresent()) {
-            if (gc.getShape() != null) {
-                if (gc.getFillColor() != null) {
-                    g.setColor(gc.getFillColor());
-                    g.fill(gc.getShape());
-                }
-                if (gc.getColor() != null) {
-                    g.setColor(gc.getColor());
-                    g.draw(gc.getShape());
-                }
-            }
-            if (e.containsComponent(TextComponent.class)) {
-                TextComponent tc = e.getComponent(TextComponent.class);
-                PhysicComponent pc = e.getComponent(PhysicComponent.class);
-                g.setColor(tc.getTextColor());
-                g.setFont(tc.getTextFont());
-                g.drawString(tc.getText(), (int) pc.getPosition().getX(), (int) pc.getPosition().getY());
-                int textHeight = g.getFontMetrics().getHeight();
-                int textWidth = g.getFontMetrics().stringWidth(tc.getText());
+     * @param item the {@link RenderItem} to be filled.
+     * @param e    the {@link Entity} to be captured.
+     * @param gc   its {@link GraphicComponent}.
+     */
+    private void captureEntity(RenderItem item, Entity e, GraphicComponent gc) {
+        item.id = e.getId();
+        item.priority = 0;
+        if (e.containsComponent(PriorityComponent.class)) {
+            PriorityComponent prc = e.getComponent(PriorityComponent.class);
+            item.priority = prc.getPriority();
+        }
+        item.stickToViewport = gc.isStickToViewport();
+        item.color = gc.getColor();
+        item.fillColor = gc.getFillColor();
+        PhysicComponent pc = e.getComponent(PhysicComponent.class);
+        if (e.containsComponent(TextComponent.class)) {
+            TextComponent tc = e.getComponent(TextComponent.class);
+            TextCache.TextLayout layout = textCache.get(tc, measure.getFont());
+            item.glyphs = layout.getGlyphs();
+            item.textColor = tc.getTextColor();
+            item.textX = (int) pc.getPosition().getX();
+            item.textY = (int) pc.getPosition().getY();
+            int textHeight = layout.getHeight();
+            int textWidth = layout.getWidth();
+            item.textWidth = textWidth;
+            item.textHeight = textHeight;
+            if (pc.getSize().x != textWidth || pc.getSize().y != textHeight) {
+                // only resized when the text layout changed: setSize allocates a new vector.
                 pc.setSize(textWidth, textHeight);
+            }
+            if (gc.getShape() instanceof Rectangle2D box) {
+                box.setRect(pc.getPosition().getX(), pc.getPosition().getY() - textHeight, textWidth, textHeight);
+            } else {
                 gc.setShape(
                         new Rectangle2D.Double(
                                 pc.getPosition().getX(),
                                 pc.getPosition().getY() - textHeight,
                                 textWidth, textHeight));
             }
-            if (e.containsComponent(GridComponent.class)) {
-                GridComponent gridC = e.getComponent(GridComponent.class);
-                g.setColor(gc.getColor());
-                gc.setShape(gridC.getBox());
-                for (double ix = gridC.getBox().getX();
-                     ix < gridC.getBox().getX() + gridC.getBox().getWidth();
-                     ix += gridC.getTileWidth()) {
-                    g.drawRect((int) ix, 0, gridC.getTileWidth(), (int) gridC.getBox().getHeight());
+        }
+        if (e.containsComponent(GridComponent.class)) {
+            GridComponent gridC = e.getComponent(GridComponent.class);
+            gc.setShape(gridC.getBox());
+            item.grid = true;
+            item.gridX = gridC.getBox().getX();
+            item.gridY = gridC.getBox().getY();
+            item.gridWidth = gridC.getBox().getWidth();
+            item.gridHeight = gridC.getBox().getHeight();
+            item.tileWidth = gridC.getTileWidth();
+            item.tileHeight = gridC.getTileHeight();
+        }
+        if (e.containsComponent(GaugeComponent.class)) {
+            GaugeComponent gg = e.getComponent(GaugeComponent.class);
+            gc.setShape(pc.getBBox());
+            item.gauge = true;
+            item.gaugeColor = gg.getGaugeColor();
+            item.gaugeX = pc.getPosition().getX() + 2;
+            item.gaugeY = pc.getPosition().getY() + 2;
+            item.gaugeWidth = (int) (pc.getSize().getX() * (gg.getMax() - gg.getMin()) / gg.getValue()) - 3;
+            item.gaugeHeight = pc.getSize().getY() - 3;
+        }
+        item.setShape(gc.getShape());
+    }
+
+    /**
+     * The render thread loop: draw each newly published frame, and wait for the next one.
+     */
+    private void renderLoop() {
+        try {
+            while (rendering) {
+                if (frames.swap()) {
+                    drawFrame(frames.getReadBuffer());
+                } else {
+                    // woken up by the next published frame.
+                    LockSupport.parkNanos(this, 5_000_000L);
                 }
-                for (double iy = gridC.getBox().getY();
-                     iy < gridC.getBox().getY() + gridC.getBox().getHeight();
-                     iy += gridC.getTileHeight()) {
-                    g.drawRect(0, (int) iy, (int) gridC.getBox().getWidth(), gridC.getTileHeight());
+            }
+        } catch (RuntimeException re) {
+            error(RenderingService.class, "Render thread stopped: %s", re.getMessage());
+        } finally {
+            // never leave the simulation waiting for a frame that will not be presented.
+            rendering = false;
+            Thread waiting = waitingThread;
+            if (waiting != null) {
+                LockSupport.unpark(waiting);
+            }
+        }
+    }
+
+    /**
+     * Draw a captured frame into the rendering buffer, then copy it to the window. The accelerated
+     * buffer is drawn again if its content is lost before being copied.
+     *
+     * @param rf the {@link RenderFrame} to be drawn.
+     */
+    private void drawFrame(RenderFrame rf) {
+        if (volatileBuffer != null) {
+            boolean valid = true;
+            do {
+                GraphicsConfiguration gconf = frame.getGraphicsConfiguration();
+                int state = volatileBuffer.validate(gconf);
+                if (state == VolatileImage.IMAGE_INCOMPATIBLE) {
+                    volatileBuffer.flush();
+                    volatileBuffer = gconf.createCompatibleVolatileImage(bufferWidth, bufferHeight);
                 }
+                valid &= state == VolatileImage.IMAGE_OK;
+                Graphics2D g = volatileBuffer.createGraphics();
+                drawScene(g, rf, valid);
+                g.dispose();
+                drawToFrame(volatileBuffer, rf);
+                // a frame drawn again is drawn entirely.
+                valid = false;
+            } while (volatileBuffer.contentsLost());
+        } else {
+            Graphics2D g = renderingBuffer.createGraphics();
+            drawScene(g, rf, true);
+            g.dispose();
+            drawToFrame(renderingBuffer, rf);
+        }
+        presentedIndex = rf.index;
+        Thread waiting = waitingThread;
+        if (waiting != null) {
+            LockSupport.unpark(waiting);
+        }
+        countFrame();
+    }
+
+    /**
+     * Draw the items of a captured frame. In dirty rectangles mode, only the regions changed since
+     * the previously drawn frame are drawn again, if the buffer content is still valid. In banded
+     * rendering mode, the bands are drawn concurrently, and all joined before returning.
+     *
+     * @param g     the {@code Graphics2D} context of the rendering buffer
+     * @param rf    the {@link RenderFrame} to be drawn.
+     * @param valid false if the content of the rendering buffer was lost.
+     */
+    private void drawScene(Graphics2D g, RenderFrame rf, boolean valid) {
+        long start = System.nanoTime();
+        bandFrame = rf;
+        bandFull = dirtyRegions == null || dirtyRegions.update(rf, valid);
+        if (bandWorkers != null) {
+            for (Semaphore bandStart : bandStarts) {
+                bandStart.release();
             }
-            if (e.containsComponent(GaugeComponent.class)) {
-                PhysicComponent pc = e.getComponent(PhysicComponent.class);
-                GaugeComponent gg = e.getComponent(GaugeComponent.class);
-                g.setColor(gc.getFillColor());
-                gc.setShape(pc.getBBox());
-                g.fill(gc.getShape());
-                g.setColor(gg.getGaugeColor());
-                double width = pc.getSize().getX() * (gg.getMax() - gg.getMin()) / gg.getValue();
-                g.fill(new Rectangle2D.Double(pc.getPosition().getX() + 2, pc.getPosition().getY() + 2, (int) width - 3, pc.getSize().getY() - 3));
-                g.setColor(gc.getColor());
-                g.draw(gc.getShape());
+        }
+        drawBand(bands[0], g, rf, bandFull);
+        if (bandWorkers != null) {
+            // all the bands are drawn before the buffer is copied to the window.
+            bandsDone.acquireUninterruptibly(bandWorkers.length);
+        }
+        if (rf.debugLevel > 0 && debugOverlay != null) {
+            debugOverlay.addSample(start, System.nanoTime() - start);
+        }
+    }
 
+    /**
+     * Draw the items of a captured frame into a band of the rendering buffer.
+     *
+     * @param band the {@link RenderBand} to be drawn.
+     * @param g    the {@code Graphics2D} context of the rendering buffer
+     * @param rf   the {@link RenderFrame} to be drawn.
+     * @param full true to draw the whole band, false to draw only the dirty regions.
+     */
+    private void drawBand(RenderBand band, Graphics2D g, RenderFrame rf, boolean full) {
+        RenderBackend backend = band.backend;
+        backend.begin(g);
+        if (full) {
+            // only a full redraw draws all the visible grids: the others keep their chunks.
+            band.gridCache.begin();
+            if (bands.length > 1) {
+                backend.setClip(0, band.y0, bufferWidth, band.y1 - band.y0);
             }
-            if (app.isDebugLevelGreaterThan(0)) {
-                g.setColor(Color.ORANGE);
-                g.draw(gc.getShape());
+            drawRegion(band, rf, -1);
+            band.gridCache.end();
+        } else {
+            for (int r = 0; r < dirtyRegions.size(); r++) {
+                int y0 = Math.max(dirtyRegions.getY(r), band.y0);
+                int y1 = Math.min(dirtyRegions.getY(r) + dirtyRegions.getHeight(r), band.y1);
+                if (y0 < y1) {
+                    backend.setClip(dirtyRegions.getX(r), y0, dirtyRegions.getWidth(r), y1 - y0);
+                    drawRegion(band, rf, r);
+                }
             }
         }
+        backend.clearClip();
+        band.gridChunkCount = band.gridCache.getChunkCount();
+        band.spriteCount = band.spriteCache != null ? band.spriteCache.size() : 0;
+        backend.end();
+    }
 
+    /**
+     * Start the band worker threads, each one drawing a band of the rendering buffer when the
+     * drawing of a frame starts.
+     */
+    private void startBandWorkers() {
+        bandWorkers = new Thread[bands.length - 1];
+        bandStarts = new Semaphore[bandWorkers.length];
+        for (int i = 0; i < bandWorkers.length; i++) {
+            RenderBand band = bands[i + 1];
+            Semaphore bandStart = new Semaphore(0);
+            bandStarts[i] = bandStart;
+            bandWorkers[i] = new Thread(() -> {
+                while (true) {
+                    bandStart.acquireUninterruptibly();
+                    if (bandsStopped) {
+                        return;
+                    }
+                    try {
+                        Graphics2D g = renderingBuffer.createGraphics();
+                        drawBand(band, g, bandFrame, bandFull);
+                        g.dispose();
+                    } catch (RuntimeException re) {
+                        error(RenderingService.class, "Band drawing failed: %s", re.getMessage());
+                    } finally {
+                        bandsDone.release();
+                    }
+                }
+            }, "render-band-" + (i + 1));
+            bandWorkers[i].setDaemon(true);
+            bandWorkers[i].start();
+        }
+    }
+
+    /**
+     * Clear and draw a region of a band, the backend being clipped to the region.
+     *
+     * @param band   the {@link RenderBand} to be drawn.
+     * @param rf     the {@link RenderFrame} to be drawn.
+     * @param region the index of the dirty region, or -1 for the whole band.
+     */
+    private void drawRegion(RenderBand band, RenderFrame rf, int region) {
+        RenderBackend backend = band.backend;
+        // Clear the rendering buffer;
+        if (region < 0) {
+            backend.fillRect(0, 0, bufferWidth, bufferHeight, Color.BLACK);
+        } else {
+            backend.fillRect(dirtyRegions.getX(region), dirtyRegions.getY(region),
+                    dirtyRegions.getWidth(region), dirtyRegions.getHeight(region), Color.BLACK);
+        }
+
+        // Render all objects through camera viewport (if an active camera exists)
+        if (rf.hasCamera) {
+            backend.translate(-rf.cameraX, -rf.cameraY);
+        }
+        // Draw all items, in priority order.
+        drawAllItems(band, rf, false, region);
+
+        // draw world limit in debug mode
+        if (rf.debugLevel > 0) {
+            backend.drawRect(rf.worldX, rf.worldY, rf.worldWidth, rf.worldHeight, Color.DARK_GRAY);
+        }
+
+        // Move back to normal position (if an active camera exists)
+        if (rf.hasCamera) {
+            backend.translate(rf.cameraX, rf.cameraY);
+        }
+        // Draw all stuck to viewport items.
+        drawAllItems(band, rf, true, region);
+    }
+
+    /**
+     * Draws the items of a frame, captured in priority order, either the ones stuck to the
+     * viewport or the other ones.
+     *
+     * @param band            the {@link RenderBand} to be drawn
+     * @param rf              the {@link RenderFrame} to be drawn
+     * @param stickToViewport true to draw the items stuck to the viewport.
+     * @param region          the index of the dirty region to be drawn, or -1 for the whole buffer.
+     */
+    private void drawAllItems(RenderBand band, RenderFrame rf, boolean stickToViewport, int region) {
+        double viewX = !stickToViewport && rf.hasCamera ? rf.cameraX : 0;
+        double viewY = !stickToViewport && rf.hasCamera ? rf.cameraY : 0;
+        for (int i = 0; i < rf.size(); i++) {
+            RenderItem item = rf.get(i);
+            if (item.stickToViewport == stickToViewport
+                    && (bands.length == 1 || band.intersects(item, viewY))
+                    && (region < 0 || dirtyRegions.intersects(item, region, viewX, viewY))) {
+                drawItem(band, item, rf.debugLevel, viewX, viewY);
+            }
+        }
+    }
+
+    /**
+     * Draws the content of the provided rendering buffer onto the application frame, keeping its
+     * aspect ratio. When the window is large enough, the buffer is scaled by the largest integer
+     * factor with a nearest neighbour interpolation, the fastest path; otherwise it is shrunk
+     * to fit with a bilinear interpolation. Only the letterbox bars around the buffer are cleared.
+     *
+     * @param renderingBuffer the {@link Image} containing the content to be rendered
+     *                        onto the application frame.
+     * @param rf              the drawn {@link RenderFrame}, providing the debug information.
+     */
+    private void drawToFrame(Image renderingBuffer, RenderFrame rf) {
+        Insets in = frame.getInsets();
+        int areaWidth = frame.getWidth() - in.left - in.right;
+        int areaHeight = frame.getHeight() - in.top - in.bottom;
+        if (areaWidth <= 0 || areaHeight <= 0) {
+            return;
+        }
+        int scale = Math.min(areaWidth / bufferWidth, areaHeight / bufferHeight);
+        int width, height;
+        if (scale >= 1) {
+            width = bufferWidth * scale;
+            height = bufferHeight * scale;
+        } else {
+            double ratio = Math.min((double) areaWidth / bufferWidth, (double) areaHeight / bufferHeight);
+            width = (int) (bufferWidth * ratio);
+            height = (int) (bufferHeight * ratio);
+        }
+        blitScale = scale;
+        int x = in.left + (areaWidth - width) / 2;
+        int y = in.top + (areaHeight - height) / 2;
+
+        BufferStrategy bs = frame.getBufferStrategy();
+        do {
+            do {
+                Graphics2D g = (Graphics2D) bs.getDrawGraphics();
+                // clear the letterbox bars only.
+                g.setColor(Color.DARK_GRAY);
+                g.fillRect(in.left, in.top, x - in.left, areaHeight);
+                g.fillRect(x + width, in.top, in.left + areaWidth - x - width, areaHeight);
+                g.fillRect(x, in.top, width, y - in.top);
+                g.fillRect(x, y + height, width, in.top + areaHeight - y - height);
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, scale >= 1
+                        ? RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR
+                        : RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.drawImage(renderingBuffer, x, y, x + width, y + height, 0, 0, bufferWidth, bufferHeight, null);
+                if (rf.debugLevel > 0) {
+                    debugOverlay.draw(g, frame.getGraphicsConfiguration(), in.left + 6, in.top + areaHeight - 4,
+                            areaWidth - 12, rf.stats);
+                }
+                g.dispose();
+            } while (bs.contentsRestored());
+            bs.show();
+        } while (bs.contentsLost());
+    }
+
+    /**
+     * Renders an item's shape, text, grid and gauge through the {@link RenderBackend}.
+     * Additional debugging visuals may also be drawn based on the captured debug level.
+     *
+     * @param band       the {@link RenderBand} the item is drawn into
+     * @param item       the {@link RenderItem} to be drawn
+     * @param debugLevel the debug level of the frame
+     * @param viewX      the left position of the viewport in the item coordinates
+     * @param viewY      the top position of the viewport in the item coordinates
+     */
+    private void drawItem(RenderBand band, RenderItem item, int debugLevel, double viewX, double viewY) {
+        RenderBackend backend = band.backend;
+        // small rectangles and ellipses are copied from their pre-rasterised sprite.
+        boolean sprite = band.spriteCache != null && !item.gauge
+                && band.spriteCache.draw(backend, item, viewX, viewY);
+        if (!sprite) {
+            backend.fill(item, item.fillColor);
+            backend.draw(item, item.color);
+        }
+        if (item.glyphs != null) {
+            backend.drawGlyphs(item.glyphs, (float) item.textX, (float) item.textY, item.textColor);
+        }
+        if (item.grid) {
+            band.gridCache.draw(backend, item, viewX, viewY, bufferWidth, bufferHeight);
+        }
+        if (item.gauge) {
+            backend.fillRect(item.gaugeX, item.gaugeY, item.gaugeWidth, item.gaugeHeight, item.gaugeColor);
+            backend.draw(item, item.color);
+        }
+        if (debugLevel > 0) {
+            backend.draw(item, Color.ORANGE);
+        }
+    }
+
+
+    /**
+     * Count the drawn frames, to compute the real frame rate.
+     */
+    private void countFrame() {
+        nbFrames++;
+        long now = System.currentTimeMillis();
+        if (now - fpsTime >= 1000) {
+            realFPS = nbFrames;
+            nbFrames = 0;
+            fpsTime = now;
+        }
     }
 
     /**
@@ -375,6 +846,26 @@ public class RenderingService extends AbstractService {
      */
     @Override
     public void dispose(App app) {
+        if (renderThread != null) {
+            rendering = false;
+            LockSupport.unpark(renderThread);
+            try {
+                renderThread.join(1000);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (bandWorkers != null) {
+            bandsStopped = true;
+            for (Semaphore bandStart : bandStarts) {
+                bandStart.release();
+            }
+            bandWorkers = null;
+        }
+        entMgr.removeListener(layers);
+        if (volatileBuffer != null) {
+            volatileBuffer.flush();
+        }
         if (Optional.ofNullable(frame).isPresent()) {
             frame.dispose();
         }
@@ -388,7 +879,22 @@ public class RenderingService extends AbstractService {
      */
     @Override
     public Map<String, Object> getStats() {
-        return Map.of("FPS", 60, "rendered", nbRenderedEntities);
+        int gridChunks = 0, sprites = 0;
+        for (RenderBand band : bands) {
+            // the caches are only used by the rendering threads: read their published counts.
+            gridChunks += band.gridChunkCount;
+            sprites += band.spriteCount;
+        }
+        return Map.of("FPS", realFPS,
+                "rendered", nbRenderedEntities,
+                "dropped", frames.getDroppedCount(),
+                "latency", Math.max(0, frameIndex - 1 - presentedIndex),
+                "renderWait", waitTime / 1_000_000,
+                "scale", blitScale,
+                "textLayouts", textCache.getLayoutCount(),
+                "gridChunks", gridChunks,
+                "redrawn", dirtyRegions != null ? (int) (dirtyRegions.getRatio() * 100) : 100,
+                "sprites", sprites);
     }
 
     /**
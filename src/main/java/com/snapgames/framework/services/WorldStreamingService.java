@@ -0,0 +1,343 @@
+package com.snapgames.framework.services;
+
+import static com.snapgames.framework.App.*;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.snapgames.framework.App;
+import com.snapgames.framework.components.PhysicComponent;
+import com.snapgames.framework.components.PhysicType;
+import com.snapgames.framework.components.TargetComponent;
+import com.snapgames.framework.entities.Camera;
+import com.snapgames.framework.entities.Entity;
+import com.snapgames.framework.math.Vector2d;
+import com.snapgames.framework.physic.StepListener;
+
+/**
+ * The {@link WorldStreamingService} keeps in memory and simulates only the part of the world
+ * around the active {@link Camera}.
+ * <p>
+ * The world is divided into square chunks of <code>app.physic.world.chunk.size</code> pixels.
+ * The distance of a chunk to the camera one is measured in chunks:
+ * <ul>
+ *     <li>up to <code>app.physic.world.chunk.active.radius</code>, bodies are simulated on each physic step,</li>
+ *     <li>up to <code>app.physic.world.chunk.stream.radius</code>, bodies are simulated once every
+ *     <code>app.physic.world.chunk.low.rate</code> steps,</li>
+ *     <li>beyond, the entities of the chunk are removed from the {@link EntityManagerService}, serialized
+ *     to disk by a background thread, and read back when the camera comes close again.</li>
+ * </ul>
+ * Only the {@link PhysicType#DYNAMIC} and {@link PhysicType#STATIC} entities are streamed, the
+ * camera target is always kept.
+ * <p>
+ * In deterministic mode (see {@link PhysicEngineService#isDeterministic()}), the chunks are checked
+ * on fixed physic steps, and the loaded chunks are waited for, so that entities are always streamed
+ * out and in on the same steps.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class WorldStreamingService extends AbstractService implements StepListener {
+
+    /**
+     * A world chunk streamed out of memory: the files its entities have been written to, and the
+     * pending load of these entities.
+     */
+    private static class WorldChunk {
+        final int cx, cy;
+        final List<Path> files = new ArrayList<>();
+        Future<List<Entity>> loading;
+
+        WorldChunk(int cx, int cy) {
+            this.cx = cx;
+            this.cy = cy;
+        }
+    }
+
+    /**
+     * Delay (in milliseconds) between 2 evaluations of the entities chunk.
+     */
+    private static final long CHECK_PERIOD = 250;
+
+    private EntityManagerService eMgr;
+    private PhysicEngineService pes;
+    private SceneManagerService scnMgr;
+
+    private double chunkSize = 256.0;
+    private int activeRadius = 1;
+    private int streamRadius = 3;
+    private int lowRate = 8;
+
+    /**
+     * The streamed out chunks, indexed on their packed coordinates (see {@link #key(int, int)}).
+     */
+    private final Map<Long, WorldChunk> chunks = new HashMap<>();
+    /**
+     * The single background thread writing and reading chunks: as tasks are executed in order,
+     * a load always reads the files of the previously submitted writes.
+     */
+    private ExecutorService streamer;
+    private Path storage;
+    private long lastCheck = 0;
+    private boolean deterministic = false;
+    private long checkSteps = 1;
+    private long fileIndex = 0;
+
+    private int nbStreamedOut = 0;
+    private int nbStreamedIn = 0;
+    private int nbLowRate = 0;
+
+    /**
+     * Create the {@link WorldStreamingService}.
+     *
+     * @param app the parent {@link App} instance.
+     */
+    public WorldStreamingService(App app) {
+        super(app);
+    }
+
+    @Override
+    public String getName() {
+        return this.getClass().getSimpleName();
+    }
+
+    @Override
+    public void init(App app, String[] args) {
+        ConfigurationService config = app.getService(ConfigurationService.class.getSimpleName());
+        eMgr = app.getService(EntityManagerService.class.getSimpleName());
+        pes = app.getService(PhysicEngineService.class.getSimpleName());
+        scnMgr = app.getService(SceneManagerService.class.getSimpleName());
+        chunkSize = config.getValue("app.physic.world.chunk.size");
+        activeRadius = config.getValue("app.physic.world.chunk.active.radius");
+        streamRadius = Math.max(activeRadius, config.<Integer>getValue("app.physic.world.chunk.stream.radius"));
+        lowRate = config.getValue("app.physic.world.chunk.low.rate");
+        try {
+            storage = Files.createTempDirectory("chunks");
+        } catch (IOException ioe) {
+            error(WorldStreamingService.class, "Unable to create chunk storage directory: %s", ioe.getMessage());
+        }
+        streamer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "chunk-streamer");
+            t.setDaemon(true);
+            return t;
+        });
+        deterministic = pes.isDeterministic();
+        if (deterministic) {
+            checkSteps = Math.max(1, Math.round(CHECK_PERIOD / pes.getStepTime()));
+            pes.addStepListener(this);
+        }
+    }
+
+    /**
+     * Add back the entities of the loaded chunks, then, on each check period, update the tick
+     * interval of the simulated bodies and stream out and in the chunks according to their
+     * distance to the camera.
+     *
+     * @param app the parent {@link App} instance.
+     */
+    @Override
+    public void process(App app) {
+        if (deterministic) {
+            // driven by the physic steps, see onStep.
+            return;
+        }
+        collectLoadedChunks(false);
+        long now = System.currentTimeMillis();
+        if (now - lastCheck < CHECK_PERIOD) {
+            return;
+        }
+        lastCheck = now;
+        checkChunks();
+    }
+
+    /**
+     * In deterministic mode, check the chunks once every check period worth of physic steps,
+     * and wait for the loaded chunks.
+     *
+     * @param app     the parent {@link App} instance.
+     * @param step    the index of the step.
+     * @param elapsed the time simulated by the step (in milliseconds).
+     */
+    @Override
+    public void onStep(App app, long step, double elapsed) {
+        if (step % checkSteps == 0) {
+            checkChunks();
+            collectLoadedChunks(true);
+        }
+    }
+
+    /**
+     * Update the tick interval of the simulated bodies and stream out and in the chunks
+     * according to their distance to the camera.
+     */
+    private void checkChunks() {
+        if (storage == null || scnMgr.getCurrentScene() == null || scnMgr.getCurrentScene().getCamera() == null) {
+            return;
+        }
+        Camera cam = scnMgr.getCurrentScene().getCamera();
+        PhysicComponent camPC = cam.getComponent(PhysicComponent.class);
+        int camX = chunk(camPC.getPosition().x + camPC.getSize().x * 0.5);
+        int camY = chunk(camPC.getPosition().y + camPC.getSize().y * 0.5);
+        TargetComponent camTC = cam.getComponent(TargetComponent.class);
+        Entity target = camTC.getTarget();
+
+        Map<Long, List<Entity>> outgoing = new HashMap<>();
+        nbLowRate = 0;
+        for (Entity e : eMgr.getEntities()) {
+            if (e == target || !e.containsComponent(PhysicComponent.class)) {
+                continue;
+            }
+            PhysicComponent pc = e.getComponent(PhysicComponent.class);
+            if (pc.getType() == PhysicType.NONE) {
+                continue;
+            }
+            Vector2d p = pc.getPosition();
+            int cx = chunk(p.x + pc.getSize().x * 0.5);
+            int cy = chunk(p.y + pc.getSize().y * 0.5);
+            int distance = Math.max(Math.abs(cx - camX), Math.abs(cy - camY));
+            if (distance <= activeRadius) {
+                pc.setTickInterval(1);
+            } else if (distance <= streamRadius) {
+                pc.setTickInterval(lowRate);
+                nbLowRate++;
+            } else {
+                outgoing.computeIfAbsent(key(cx, cy), k -> new ArrayList<>()).add(e);
+            }
+        }
+        outgoing.forEach(this::streamOut);
+
+        for (WorldChunk chunk : chunks.values()) {
+            if (chunk.loading == null && !chunk.files.isEmpty()
+                    && Math.max(Math.abs(chunk.cx - camX), Math.abs(chunk.cy - camY)) <= streamRadius) {
+                streamIn(chunk);
+            }
+        }
+    }
+
+    /**
+     * Remove the entities of a chunk from the simulation and write them to a new chunk file.
+     *
+     * @param key      the chunk key.
+     * @param entities the entities to be streamed out.
+     */
+    private void streamOut(long key, List<Entity> entities) {
+        WorldChunk chunk = chunks.computeIfAbsent(key, k -> new WorldChunk((int) (k >> 32), (int) (long) k));
+        for (Entity e : entities) {
+            eMgr.remove(e);
+            pes.release(e);
+        }
+        Path file = storage.resolve("chunk_%d_%d_%d.bin".formatted(chunk.cx, chunk.cy, fileIndex++));
+        chunk.files.add(file);
+        streamer.submit(() -> {
+            try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(file))) {
+                out.writeObject(entities);
+            } catch (IOException ioe) {
+                error(WorldStreamingService.class, "Unable to write chunk file %s: %s", file, ioe.getMessage());
+            }
+        });
+        nbStreamedOut += entities.size();
+        debug(WorldStreamingService.class, "Chunk [%d,%d] streamed out %d entities", chunk.cx, chunk.cy, entities.size());
+    }
+
+    /**
+     * Request the background read of all the files of a chunk.
+     *
+     * @param chunk the chunk to be loaded.
+     */
+    @SuppressWarnings("unchecked")
+    private void streamIn(WorldChunk chunk) {
+        List<Path> files = new ArrayList<>(chunk.files);
+        chunk.files.clear();
+        chunk.loading = streamer.submit(() -> {
+            List<Entity> loaded = new ArrayList<>();
+            for (Path file : files) {
+                try (ObjectInputStream in = new ObjectInputStream(Files.newInputStream(file))) {
+                    loaded.addAll((List<Entity>) in.readObject());
+                }
+                Files.deleteIfExists(file);
+            }
+            return loaded;
+        });
+    }
+
+    /**
+     * Add back into the {@link EntityManagerService} the entities of all the chunks whose loading is done.
+     *
+     * @param wait true to wait for the chunks still being loaded.
+     */
+    private void collectLoadedChunks(boolean wait) {
+        for (Iterator<WorldChunk> it = chunks.values().iterator(); it.hasNext(); ) {
+            WorldChunk chunk = it.next();
+            if (chunk.loading == null || !wait && !chunk.loading.isDone()) {
+                continue;
+            }
+            try {
+                List<Entity> loaded = chunk.loading.get();
+                eMgr.addAll(loaded);
+                nbStreamedIn += loaded.size();
+                debug(WorldStreamingService.class, "Chunk [%d,%d] streamed in %d entities", chunk.cx, chunk.cy, loaded.size());
+            } catch (InterruptedException | ExecutionException e) {
+                error(WorldStreamingService.class, "Unable to read chunk [%d,%d]: %s", chunk.cx, chunk.cy, e.getMessage());
+            }
+            chunk.loading = null;
+            if (chunk.files.isEmpty()) {
+                it.remove();
+            }
+        }
+    }
+
+    private int chunk(double v) {
+        return (int) Math.floor(v / chunkSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+
+    /**
+     * Executed just after the {@link SceneManagerService}, before rendering.
+     */
+    @Override
+    public int getPriority() {
+        return 4;
+    }
+
+    /**
+     * Stop the background thread and remove all the chunk files.
+     */
+    @Override
+    public void dispose(App app) {
+        pes.removeStepListener(this);
+        if (streamer != null) {
+            streamer.shutdownNow();
+        }
+        chunks.values().forEach(chunk -> chunk.files.forEach(file -> {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ioe) {
+                warn(WorldStreamingService.class, "Unable to delete chunk file %s", file);
+            }
+        }));
+        chunks.clear();
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        return Map.of("chunks", chunks.size(),
+                "streamedOut", nbStreamedOut,
+                "streamedIn", nbStreamedIn,
+                "lowRate", nbLowRate);
+    }
+}
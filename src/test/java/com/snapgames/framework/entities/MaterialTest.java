@@ -0,0 +1,52 @@
+package com.snapgames.framework.entities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.snapgames.framework.components.PhysicComponent;
+
+/**
+ * Check that the streamed entities keep sharing {@link Material#DEFAULT}.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class MaterialTest {
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copy(T object) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+
+    @Test
+    public void defaultMaterialKeepsItsIdentity() throws Exception {
+        Entity e = new Entity("streamed").add(new PhysicComponent().setMaterial(Material.DEFAULT));
+        Entity read = copy(e);
+        PhysicComponent pc = read.getComponent(PhysicComponent.class);
+        assertSame(Material.DEFAULT, pc.getMaterial());
+    }
+
+    @Test
+    public void otherMaterialsAreCopied() throws Exception {
+        Material m = new Material("ice", 0.9, 0.1, 0.01);
+        Material read = copy(m);
+        assertNotSame(m, read);
+        assertEquals("ice", read.getName());
+        assertEquals(0.01, read.getRoughness());
+    }
+}
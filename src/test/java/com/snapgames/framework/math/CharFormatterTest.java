@@ -0,0 +1,93 @@
+package com.snapgames.framework.math;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check that the {@link CharFormatter} formats numbers like {@link String#format(String, Object...)}.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class CharFormatterTest {
+    private final CharFormatter formatter = new CharFormatter(4);
+
+    private void assertFormat(double value, int precision, int width, boolean zeroPad) {
+        String format = "%" + (width > 0 ? (zeroPad ? "0" : "") + width : "") + "." + precision + "f";
+        String expected = String.format(Locale.ROOT, format, value);
+        assertEquals(expected, formatter.clear().append(value, precision, width, zeroPad).toString(),
+                format + " of " + value);
+    }
+
+    private void assertFormat(long value, int width, boolean zeroPad) {
+        String format = "%" + (width > 0 ? (zeroPad ? "0" : "") + width : "") + "d";
+        assertEquals(String.format(Locale.ROOT, format, value),
+                formatter.clear().append(value, width, zeroPad).toString(), format + " of " + value);
+    }
+
+    @Test
+    public void formatsHalfValuesLikeTheJdk() {
+        double[] values = {1.005, 2.675, 0.125, 0.5, 1.5, 2.5, -2.5, 0.045, 1.045, 8.345, 1e-5, 5e-5, 0.15, 0.35};
+        for (double v : values) {
+            for (int p = 0; p <= 4; p++) {
+                assertFormat(v, p, 0, false);
+                assertFormat(-v, p, 0, false);
+            }
+        }
+    }
+
+    @Test
+    public void keepsTheSignOfNegativeZero() {
+        assertFormat(-0.0, 2, 0, false);
+        assertFormat(-0.0, 0, 6, true);
+        assertFormat(-0.001, 2, 0, false);
+        assertFormat(0.0, 2, 0, false);
+    }
+
+    @Test
+    public void formatsDecimalsLikeTheJdk() {
+        for (int i = -30000; i <= 30000; i++) {
+            double v = i / 1000.0;
+            assertFormat(v, 2, 0, false);
+            assertFormat(v, 1, 8, true);
+            assertFormat(v, 0, 5, false);
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            double v = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(14) - 4);
+            int precision = random.nextInt(7);
+            assertFormat(v, precision, random.nextInt(12), random.nextBoolean());
+        }
+    }
+
+    @Test
+    public void formatsSpecialValuesLikeTheJdk() {
+        double[] values = {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 1e17, -123456789012345.678,
+                Double.MIN_VALUE, Double.MAX_VALUE};
+        for (double v : values) {
+            assertFormat(v, 2, 0, false);
+            assertFormat(v, 3, 12, false);
+        }
+        assertFormat(1e17, 2, 24, true);
+    }
+
+    @Test
+    public void formatsIntegersLikeTheJdk() {
+        long[] values = {0, 7, -7, 42, -1234, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE};
+        for (long v : values) {
+            assertFormat(v, 0, false);
+            assertFormat(v, 6, false);
+            assertFormat(v, 6, true);
+        }
+    }
+
+    @Test
+    public void appendsTexts() {
+        formatter.clear().append("Time ").append(12.5, 2, 6, true);
+        assertEquals("Time 012.50", formatter.toString());
+    }
+}
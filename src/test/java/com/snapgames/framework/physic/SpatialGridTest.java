@@ -0,0 +1,71 @@
+package com.snapgames.framework.physic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check the {@link SpatialGrid} queries, and that unbounded areas only visit the populated cells.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class SpatialGridTest {
+
+    private static SpatialGrid createGrid() {
+        SpatialGrid grid = new SpatialGrid(32.0);
+        for (int i = 0; i < 50; i++) {
+            grid.add((i % 10) * 40.0, (i / 10) * 40.0, 10, 10);
+        }
+        grid.skip();
+        grid.build();
+        return grid;
+    }
+
+    @Test
+    public void unboundedQueryReturnsAllBodies() {
+        SpatialGrid grid = createGrid();
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            assertEquals(50, grid.query(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                    Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY));
+            assertEquals(50, grid.query(-1e300, -1e300, 1e300, 1e300));
+        });
+    }
+
+    @Test
+    public void queryReturnsOverlappingBodiesOnce() {
+        SpatialGrid grid = createGrid();
+        // bodies 0, 1, 10 and 11, the first one overlapping 1 cell, the others 2 or 4 cells.
+        assertEquals(4, grid.query(5, 5, 45, 45));
+        assertEquals(0, grid.query(1000, 1000, 2000, 2000));
+    }
+
+    @Test
+    public void ringsCoverAllBodiesOnce() {
+        SpatialGrid grid = createGrid();
+        int cx = grid.getCell(200), cy = grid.getCell(-500);
+        grid.beginQuery();
+        int n = 0;
+        for (long r = 0; r <= 64; r++) {
+            int count = grid.queryRing(cx, cy, r);
+            assertTrue(count >= n);
+            n = count;
+        }
+        assertEquals(50, n);
+    }
+
+    @Test
+    public void emptyGridHasNoResult() {
+        SpatialGrid grid = new SpatialGrid(32.0);
+        grid.build();
+        assertTrue(grid.isEmpty());
+        assertEquals(0, grid.query(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY));
+        grid.beginQuery();
+        assertEquals(0, grid.queryCell(0, 0));
+    }
+}
@@ -0,0 +1,54 @@
+package com.snapgames.framework.physic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import com.snapgames.framework.components.PhysicComponent;
+import com.snapgames.framework.entities.Entity;
+import com.snapgames.framework.math.Vector2d;
+
+/**
+ * Check that the {@link TriggerTracker} keeps the events of all the steps simulated during a frame.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class TriggerTrackerTest {
+
+    @Test
+    public void eventsOfSeveralStepsAreKeptUntilConsumed() {
+        TriggerTracker tracker = new TriggerTracker();
+        PhysicComponent zonePC = new PhysicComponent().setTrigger(true)
+                .setPosition(new Vector2d(0, 0)).setSize(20, 20);
+        PhysicComponent ballPC = new PhysicComponent().setMass(1.0)
+                .setPosition(new Vector2d(5, 5)).setSize(4, 4);
+        Entity zone = new Entity("zone").add(zonePC);
+        Entity ball = new Entity("ball").add(ballPC);
+
+        // 3 steps simulated during the same frame: the ball enters, stays, then leaves the zone.
+        for (long step = 10; step < 13; step++) {
+            tracker.begin(step);
+            if (step < 12) {
+                tracker.overlap(ball, ballPC, zone, zonePC);
+            }
+            tracker.end();
+        }
+
+        TriggerEvents events = tracker.getEvents();
+        assertEquals(3, events.size());
+        assertEquals(TriggerEventType.ENTER, events.getType(0));
+        assertEquals(10, events.getStep(0));
+        assertSame(zone, events.getTrigger(0));
+        assertSame(ball, events.getOther(0));
+        assertEquals(TriggerEventType.STAY, events.getType(1));
+        assertEquals(11, events.getStep(1));
+        assertEquals(TriggerEventType.EXIT, events.getType(2));
+        assertEquals(12, events.getStep(2));
+
+        tracker.clearEvents();
+        assertEquals(0, events.size());
+        assertEquals(0, tracker.getOverlapCount());
+    }
+}
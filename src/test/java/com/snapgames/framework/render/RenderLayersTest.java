@@ -0,0 +1,45 @@
+package com.snapgames.framework.render;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.snapgames.framework.components.ForceFieldComponent;
+import com.snapgames.framework.components.ForceFieldType;
+import com.snapgames.framework.components.GraphicComponent;
+import com.snapgames.framework.components.PhysicComponent;
+import com.snapgames.framework.components.PriorityComponent;
+import com.snapgames.framework.entities.Entity;
+
+/**
+ * Check that the {@link RenderLayers} only keep the entities with graphics, in the layer of their priority.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class RenderLayersTest {
+
+    @Test
+    public void entitiesWithoutGraphicsAreIgnored() {
+        RenderLayers layers = new RenderLayers();
+        layers.onEntityAdded(new Entity("wind")
+                .add(new PhysicComponent())
+                .add(new ForceFieldComponent(ForceFieldType.WIND, 1.0)));
+        layers.onEntityAdded(new Entity("zone").add(new PhysicComponent().setTrigger(true)));
+        assertEquals(0, layers.getLayerCount());
+        assertEquals(0, layers.size());
+    }
+
+    @Test
+    public void entitiesWithoutPriorityAreInTheFirstLayer() {
+        RenderLayers layers = new RenderLayers();
+        layers.onEntityAdded(new Entity("plain").add(new GraphicComponent()));
+        layers.onEntityAdded(new Entity("front")
+                .add(new GraphicComponent())
+                .add(new PriorityComponent().setPriority(5)));
+        assertEquals(2, layers.getLayerCount());
+        assertEquals(0, layers.getLayer(0).getPriority());
+        assertEquals("plain", layers.getLayer(0).getEntity(0).getName());
+        assertEquals(5, layers.getLayer(1).getPriority());
+    }
+}
@@ -0,0 +1,60 @@
+package com.snapgames.framework.render;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check that the {@link SoftwareBackend} primitives respect the clip area, like the {@link Graphics2D} ones.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class SoftwareBackendTest {
+
+    private static int countFilled(BufferedImage image) {
+        int count = 0;
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                if ((image.getRGB(x, y) & 0xffffff) != 0) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int fillClipped(int x, int y, int width, int height, double tx, double ty) {
+        BufferedImage image = new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        SoftwareBackend backend = new SoftwareBackend(image, Map.of());
+        backend.begin(g);
+        backend.translate(tx, ty);
+        backend.setClip(x, y, width, height);
+        backend.fillRect(-100, -100, 300, 300, Color.WHITE);
+        backend.end();
+        g.dispose();
+        return countFilled(image);
+    }
+
+    @Test
+    public void clipStartingOutsideTheBufferKeepsItsEnd() {
+        // 10x10 from (-5, -5): only the 5x5 pixels inside the buffer.
+        assertEquals(25, fillClipped(-5, -5, 10, 10, 0, 0));
+        // the same area through a translation.
+        assertEquals(25, fillClipped(5, 5, 10, 10, -10, -10));
+    }
+
+    @Test
+    public void clipIsKeptIntoTheBuffer() {
+        assertEquals(4 * 30, fillClipped(36, -10, 20, 50, 0, 0));
+        assertEquals(0, fillClipped(-20, 0, 10, 10, 0, 0));
+        assertEquals(0, fillClipped(50, 0, 10, 10, 0, 0));
+        assertEquals(6 * 8, fillClipped(2, 3, 6, 8, 0, 0));
+    }
+}
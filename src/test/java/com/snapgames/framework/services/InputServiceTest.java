@@ -0,0 +1,104 @@
+package com.snapgames.framework.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Canvas;
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.snapgames.framework.App;
+
+/**
+ * Check that, in deterministic mode, the {@link InputService} applies the key changes at the
+ * start of the physic steps only, in their reception order.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class InputServiceTest {
+
+    /**
+     * A minimal deterministic application, without window.
+     */
+    private static class TestApp extends App {
+        private final PhysicEngineService physic;
+        private final InputService input;
+
+        TestApp() {
+            ConfigurationService config = new ConfigurationService(this);
+            EntityManagerService entities = new EntityManagerService(this);
+            physic = new PhysicEngineService(this);
+            input = new InputService(this);
+            add(config);
+            add(entities);
+            add(physic);
+            add(input);
+            add(new SceneManagerService(this) {
+                @Override
+                public void init(App app, String[] args) {
+                    // no scene: the physic engine has no camera to move.
+                }
+
+                @Override
+                public String getName() {
+                    return SceneManagerService.class.getSimpleName();
+                }
+            });
+            String[] args = {"deterministic=true"};
+            config.init(this, args);
+            entities.init(this, args);
+            physic.init(this, args);
+            input.init(this, args);
+        }
+
+        void step() {
+            physic.step(this, physic.getStepTime(), physic.getStepTime());
+        }
+    }
+
+    @Test
+    public void injectedKeysAreAppliedOnTheNextStep() {
+        TestApp app = new TestApp();
+        List<Boolean> seenByListener = new ArrayList<>();
+        app.physic.addStepListener((a, step, elapsed) -> seenByListener.add(app.input.isKeyPressed(KeyEvent.VK_UP)));
+
+        app.input.setKeyPressed(KeyEvent.VK_UP, true);
+        assertFalse(app.input.isKeyPressed(KeyEvent.VK_UP), "not before the next step");
+        app.step();
+        assertTrue(app.input.isKeyPressed(KeyEvent.VK_UP));
+        assertEquals(List.of(true), seenByListener, "applied before the step listeners");
+        assertEquals(1, app.input.getStepInputCount());
+        assertEquals(KeyEvent.VK_UP, app.input.getStepInputKey(0));
+        assertTrue(app.input.isStepInputPressed(0));
+
+        app.step();
+        assertTrue(app.input.isKeyPressed(KeyEvent.VK_UP), "kept until released");
+        assertEquals(0, app.input.getStepInputCount());
+    }
+
+    @Test
+    public void keyboardEventsAreQueuedInTheirOrder() {
+        TestApp app = new TestApp();
+        Canvas source = new Canvas();
+        app.input.keyPressed(new KeyEvent(source, KeyEvent.KEY_PRESSED, 0, 0, KeyEvent.VK_LEFT, KeyEvent.CHAR_UNDEFINED));
+        app.input.setKeyPressed(KeyEvent.VK_RIGHT, true);
+        app.input.keyReleased(new KeyEvent(source, KeyEvent.KEY_RELEASED, 0, 0, KeyEvent.VK_LEFT, KeyEvent.CHAR_UNDEFINED));
+        assertFalse(app.input.isKeyPressed(KeyEvent.VK_RIGHT));
+        app.step();
+
+        // pressed and released during the same step: the last change wins.
+        assertFalse(app.input.isKeyPressed(KeyEvent.VK_LEFT));
+        assertTrue(app.input.isKeyPressed(KeyEvent.VK_RIGHT));
+        assertEquals(3, app.input.getStepInputCount());
+        assertEquals(KeyEvent.VK_LEFT, app.input.getStepInputKey(0));
+        assertTrue(app.input.isStepInputPressed(0));
+        assertEquals(KeyEvent.VK_RIGHT, app.input.getStepInputKey(1));
+        assertEquals(KeyEvent.VK_LEFT, app.input.getStepInputKey(2));
+        assertFalse(app.input.isStepInputPressed(2));
+    }
+}
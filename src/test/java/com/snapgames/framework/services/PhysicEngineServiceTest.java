@@ -0,0 +1,211 @@
+package com.snapgames.framework.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.snapgames.framework.App;
+import com.snapgames.framework.components.GraphicComponent;
+import com.snapgames.framework.components.PhysicComponent;
+import com.snapgames.framework.components.PhysicShape;
+import com.snapgames.framework.entities.Entity;
+import com.snapgames.framework.math.Vector2d;
+import com.snapgames.framework.physic.Collisions;
+import com.snapgames.framework.physic.Contact;
+import com.snapgames.framework.physic.QueryResult;
+import com.snapgames.framework.physic.TriggerEventType;
+import com.snapgames.framework.physic.TriggerEvents;
+
+/**
+ * Check that the spatial queries of the {@link PhysicEngineService} find the same entities as a
+ * search through all the bodies, and that the low frequency bodies stay in the broad phase.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class PhysicEngineServiceTest {
+    /**
+     * A minimal application with the services required by the physic engine.
+     */
+    private static class TestApp extends App {
+        private final PhysicEngineService physic;
+        private final EntityManagerService entities;
+
+        TestApp(String arg) {
+            ConfigurationService config = new ConfigurationService(this);
+            entities = new EntityManagerService(this);
+            physic = new PhysicEngineService(this);
+            add(config);
+            add(entities);
+            add(physic);
+            add(new SceneManagerService(this) {
+                @Override
+                public void init(App app, String[] args) {
+                    // no scene: the physic engine has no camera to move.
+                }
+
+                @Override
+                public String getName() {
+                    return SceneManagerService.class.getSimpleName();
+                }
+            });
+            // a single solver thread, the contacts being always resolved in the same order.
+            String[] args = {arg, "solverthreads=1"};
+            config.init(this, args);
+            entities.init(this, args);
+            physic.init(this, args);
+        }
+    }
+
+    /**
+     * Create resting bodies on a 10x10 layout, spaced enough not to collide.
+     */
+    private static List<PhysicComponent> createRestingBodies(TestApp app) {
+        List<PhysicComponent> bodies = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            PhysicComponent pc = new PhysicComponent()
+                    .setShape(i % 2 == 0 ? PhysicShape.CIRCLE : PhysicShape.AABB)
+                    .setMass(1)
+                    .setPosition(new Vector2d(10 + (i % 10) * 47 + (i * 7) % 11, 10 + (i / 10) * 41 + (i * 5) % 9))
+                    .setSize(6 + i % 5, 6 + i % 5);
+            app.entities.add(new Entity("rest_" + i)
+                    .add(new GraphicComponent().setShape(new Rectangle2D.Double(0, 0, 8, 8)))
+                    .add(pc));
+            bodies.add(pc);
+        }
+        return bodies;
+    }
+
+    @Test
+    public void queryNearestMatchesSearchThroughAllBodies() {
+        TestApp app = new TestApp("gravity=0.0,0.0");
+        List<PhysicComponent> bodies = createRestingBodies(app);
+        double stepTime = app.physic.getStepTime();
+        app.physic.step(app, stepTime, stepTime);
+
+        QueryResult result = new QueryResult();
+        double[][] points = {{250, 200}, {3, 3}, {-1000, 500}, {480, 420}, {1e6, -1e6}};
+        for (double[] p : points) {
+            double[] expected = bodies.stream()
+                    .mapToDouble(pc -> Collisions.distance(pc, p[0], p[1]))
+                    .sorted().limit(5).toArray();
+            int n = app.physic.queryNearest(p[0], p[1], 5, Double.POSITIVE_INFINITY, -1, result);
+            double[] found = new double[n];
+            for (int i = 0; i < n; i++) {
+                found[i] = result.getDistance(i);
+            }
+            assertEquals(Arrays.toString(expected), Arrays.toString(found), "nearest of " + Arrays.toString(p));
+        }
+        assertEquals(0, app.physic.queryNearest(-1000, -1000, 5, 10.0, -1, result));
+    }
+
+    @Test
+    public void raycastHitsTheFirstBodyOnTheRay() {
+        TestApp app = new TestApp("gravity=0.0,0.0");
+        List<PhysicComponent> bodies = createRestingBodies(app);
+        double stepTime = app.physic.getStepTime();
+        app.physic.step(app, stepTime, stepTime);
+
+        QueryResult result = new QueryResult();
+        Contact probe = new Contact();
+        double[][] rays = {{-100, 13, 1, 0}, {250, 1000, 0, -1}, {-1e6, -1e6, 1, 1}, {600, 30, -1, 0.37}, {12, 14, 1, 0}};
+        for (double[] r : rays) {
+            double length = Math.hypot(r[2], r[3]);
+            double expected = Double.POSITIVE_INFINITY;
+            for (PhysicComponent pc : bodies) {
+                double t = Collisions.raycast(pc, r[0], r[1], r[2] / length, r[3] / length, Double.POSITIVE_INFINITY, probe);
+                if (t >= 0.0) {
+                    expected = Math.min(expected, t);
+                }
+            }
+            boolean hit = app.physic.raycast(r[0], r[1], r[2], r[3], Double.POSITIVE_INFINITY, -1, result);
+            assertTrue(hit, "ray " + Arrays.toString(r));
+            assertEquals(expected, result.getDistance(0), 1e-9, "ray " + Arrays.toString(r));
+        }
+        assertFalse(app.physic.raycast(-100, 13, -1, 0, Double.POSITIVE_INFINITY, -1, result));
+        assertFalse(app.physic.raycast(-100, 13, 1, 0, 50, -1, result));
+    }
+
+    private static PhysicComponent addBody(TestApp app, String name, double x, double y, double size) {
+        PhysicComponent pc = new PhysicComponent()
+                .setMass(1)
+                .setPosition(new Vector2d(x, y))
+                .setSize(size, size);
+        app.entities.add(new Entity(name)
+                .add(new GraphicComponent().setShape(new Rectangle2D.Double(0, 0, size, size)))
+                .add(pc));
+        return pc;
+    }
+
+    @Test
+    public void bodiesWaitingForTheirTurnStayInTheBroadPhase() {
+        TestApp app = new TestApp("gravity=0.0,0.0");
+        addBody(app, "zone", 100, 100, 40).setTrigger(true);
+        addBody(app, "slow", 110, 110, 8).setTickInterval(4);
+        addBody(app, "frozen", 300, 300, 8).setTickInterval(0);
+        double stepTime = app.physic.getStepTime();
+
+        QueryResult result = new QueryResult();
+        for (int step = 0; step < 8; step++) {
+            app.physic.step(app, stepTime, stepTime);
+            assertEquals(1, app.physic.queryArea(296, 296, 16, 16, -1, result), "frozen body at step " + step);
+            assertEquals(2, app.physic.queryArea(108, 108, 12, 12, -1, result), "slow body at step " + step);
+        }
+        // the events of all the steps are kept, no frame having consumed them.
+        TriggerEvents events = app.physic.getTriggerEvents();
+        int nbEnter = 0, nbExit = 0;
+        for (int i = 0; i < events.size(); i++) {
+            nbEnter += events.getType(i) == TriggerEventType.ENTER ? 1 : 0;
+            nbExit += events.getType(i) == TriggerEventType.EXIT ? 1 : 0;
+        }
+        assertEquals(1, nbEnter, "the slow body enters the zone once");
+        assertEquals(0, nbExit, "the slow body never leaves the zone");
+    }
+
+    @Test
+    public void releasedSleepersLeaveTheSleepingBodies() {
+        TestApp app = new TestApp("gravity=0.0,0.0");
+        List<PhysicComponent> bodies = createRestingBodies(app);
+        double stepTime = app.physic.getStepTime();
+        for (int step = 0; step < 120; step++) {
+            app.physic.step(app, stepTime, stepTime);
+        }
+        assertEquals(100, app.physic.getStats().get("sleeping"), "all the resting bodies are asleep");
+
+        // stream out every third body, as the world streaming does.
+        List<Entity> entities = new ArrayList<>(app.entities.getEntities());
+        int nbReleased = 0;
+        for (Entity e : entities) {
+            if (e.getId() % 3 == 0) {
+                app.entities.remove(e);
+                app.physic.release(e);
+                nbReleased++;
+            }
+        }
+        // the islands of the released bodies are woken up: until the next step, the queries only
+        // see the bodies still sleeping.
+        QueryResult result = new QueryResult();
+        int nbSleeping = (int) bodies.stream().filter(PhysicComponent::isSleeping).count();
+        assertEquals(nbSleeping, app.physic.queryArea(-1000, -1000, 2000, 2000, -1, result),
+                "released bodies are not found anymore");
+        app.physic.step(app, stepTime, stepTime);
+        assertEquals(nbSleeping, app.physic.getStats().get("sleeping"));
+        assertEquals(100 - nbReleased, app.physic.queryArea(-1000, -1000, 2000, 2000, -1, result));
+
+        // a moving body hits a remaining sleeper: only this one wakes up.
+        PhysicComponent tpc = bodies.stream().filter(PhysicComponent::isSleeping).skip(20).findFirst().orElseThrow();
+        addBody(app, "ball", tpc.getPosition().x - 5, tpc.getPosition().y, 4).setVelocity(new Vector2d(0.5, 0));
+        for (int step = 0; step < 4; step++) {
+            app.physic.step(app, stepTime, stepTime);
+        }
+        assertFalse(tpc.isSleeping(), "the hit body is woken up");
+        assertEquals(100 - nbReleased, app.physic.queryArea(-1000, -1000, 2000, 2000, -1, result) - 1);
+    }
+}